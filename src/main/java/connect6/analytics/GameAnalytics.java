@@ -0,0 +1,216 @@
+package connect6.analytics;
+
+import connect6.game.Connect6Game;
+import connect6.game.GameRecord;
+import connect6.game.PlaceResult;
+import connect6.game.PlayerType;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+/**
+ * Replays a corpus of {@link GameRecord} files in parallel and reports aggregate statistics. Files
+ * are cut into byte segments aligned to line starts, sized so every thread gets several even for
+ * small inputs; each segment is read with positional I/O by one fork-join task into its own {@link
+ * GameStats}, so heap use depends on the thread count, not the corpus size. A running total is
+ * logged as segments complete.
+ *
+ * <p>Usage: {@code GameAnalytics [--out=report.txt] [--threads=T] games.txt...}
+ */
+public class GameAnalytics {
+  private static final Logger LOG = Logger.getLogger(GameAnalytics.class.getName());
+  private static final long MAX_SEGMENT_BYTES = 32L << 20;
+  private static final long MIN_SEGMENT_BYTES = 256L << 10;
+  private static final int SEGMENTS_PER_THREAD = 4;
+  private static final int READ_BYTES = 1 << 16;
+
+  private record Segment(Path file, long start, long end) {}
+
+  private final GameStats total = new GameStats();
+  private long segmentsDone;
+  private long segmentCount;
+
+  public static void main(String[] args) throws IOException {
+    Path out = null;
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<Path> inputs = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("--out=")) out = Path.of(arg.substring(6));
+      else if (arg.startsWith("--threads=")) threads = Integer.parseInt(arg.substring(10));
+      else inputs.add(Path.of(arg));
+    }
+    if (inputs.isEmpty()) throw new IllegalArgumentException("No game record files given");
+
+    GameStats stats = new GameAnalytics().run(inputs, threads);
+    try (PrintWriter w =
+        out == null
+            ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+            : new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+      stats.writeReport(w);
+    }
+  }
+
+  public GameStats run(List<Path> files, int threads) throws IOException {
+    long totalBytes = 0;
+    for (Path f : files) totalBytes += Files.size(f);
+    long segmentBytes =
+        Math.max(
+            MIN_SEGMENT_BYTES,
+            Math.min(MAX_SEGMENT_BYTES, totalBytes / ((long) threads * SEGMENTS_PER_THREAD)));
+
+    List<Segment> segments = new ArrayList<>();
+    for (Path f : files) {
+      long size = Files.size(f);
+      for (long start = 0; start < size; start += segmentBytes)
+        segments.add(new Segment(f, start, Math.min(size, start + segmentBytes)));
+    }
+    segmentCount = segments.size();
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new Scan(segments, 0, segments.size()));
+    } finally {
+      pool.shutdown();
+    }
+    return total;
+  }
+
+  private synchronized void completed(Segment seg, GameStats stats) {
+    total.merge(stats);
+    segmentsDone++;
+    LOG.info(
+        String.format(
+            "%s [%d..%d) done, %d/%d segments, %d games so far",
+            seg.file().getFileName(),
+            seg.start(),
+            seg.end(),
+            segmentsDone,
+            segmentCount,
+            total.games()));
+  }
+
+  private class Scan extends RecursiveTask<Void> {
+    private final List<Segment> segments;
+    private final int from;
+    private final int to;
+
+    Scan(List<Segment> segments, int from, int to) {
+      this.segments = segments;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Void compute() {
+      if (to - from > 1) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new Scan(segments, from, mid), new Scan(segments, mid, to));
+        return null;
+      }
+
+      Segment seg = segments.get(from);
+      try {
+        completed(seg, scan(seg));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return null;
+    }
+  }
+
+  /** Handles every line whose first byte lies in {@code [start, end)}. */
+  private static GameStats scan(Segment seg) throws IOException {
+    GameStats stats = new GameStats();
+    Connect6Game game = new Connect6Game();
+    StringBuilder line = new StringBuilder(4096);
+    ByteBuffer buf = ByteBuffer.allocate(READ_BYTES);
+
+    try (FileChannel ch = FileChannel.open(seg.file(), StandardOpenOption.READ)) {
+      long pos = seg.start();
+      boolean skipping = false;
+      if (pos > 0) {
+        ByteBuffer prev = ByteBuffer.allocate(1);
+        ch.read(prev, pos - 1);
+        skipping = prev.get(0) != '\n';
+      }
+
+      long lineStart = pos;
+      boolean done = false;
+      while (!done) {
+        buf.clear();
+        int read = ch.read(buf, pos);
+        if (read <= 0) break;
+        buf.flip();
+
+        while (buf.hasRemaining()) {
+          byte b = buf.get();
+          pos++;
+          if (b != '\n') {
+            if (!skipping) line.append((char) b);
+            continue;
+          }
+
+          if (!skipping) replay(line, game, stats);
+          skipping = false;
+          line.setLength(0);
+          lineStart = pos;
+          if (lineStart >= seg.end()) {
+            done = true;
+            break;
+          }
+        }
+      }
+      if (!skipping && lineStart < seg.end()) replay(line, game, stats);
+    }
+    return stats;
+  }
+
+  private static void replay(CharSequence line, Connect6Game game, GameStats stats) {
+    if (line.isEmpty()) return;
+
+    GameRecord record;
+    try {
+      record = GameRecord.parse(line);
+    } catch (IllegalArgumentException e) {
+      stats.rejected++;
+      return;
+    }
+
+    game.resetGame();
+    for (int cell : record.moves()) {
+      if (game.placeStone(GameRecord.x(cell), GameRecord.y(cell)) != PlaceResult.OK) {
+        stats.rejected++;
+        return;
+      }
+      if (game.shouldSwitchPlayer()) game.switchPlayer();
+    }
+
+    PlayerType winner = game.isGameOver() ? PlayerType.valueOf(game.getWinner()) : null;
+    if (winner != record.winner()) {
+      stats.rejected++;
+      return;
+    }
+
+    stats.games++;
+    stats.lengths[record.moves().length]++;
+    if (record.moves().length > 0) stats.firstMoves[record.moves()[0]]++;
+    if (winner == null) stats.draws++;
+    else {
+      if (winner == PlayerType.BLACK) stats.blackWins++;
+      else stats.whiteWins++;
+      stats.winDirections[game.getWinningDirection()]++;
+    }
+  }
+}
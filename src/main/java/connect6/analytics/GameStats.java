@@ -0,0 +1,76 @@
+package connect6.analytics;
+
+import connect6.game.GameConfig;
+import java.io.PrintWriter;
+
+/** Fixed-size, mergeable aggregate over replayed games; its footprint does not grow with input. */
+public class GameStats {
+  private static final int CELLS = GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE;
+
+  long games;
+  long rejected;
+  long blackWins;
+  long whiteWins;
+  long draws;
+  final long[] lengths = new long[CELLS + 1];
+  final long[] firstMoves = new long[CELLS];
+  final long[] winDirections = new long[GameConfig.CFG.DIRECTIONS.length];
+
+  public void merge(GameStats o) {
+    games += o.games;
+    rejected += o.rejected;
+    blackWins += o.blackWins;
+    whiteWins += o.whiteWins;
+    draws += o.draws;
+    for (int i = 0; i < lengths.length; i++) lengths[i] += o.lengths[i];
+    for (int i = 0; i < firstMoves.length; i++) firstMoves[i] += o.firstMoves[i];
+    for (int i = 0; i < winDirections.length; i++) winDirections[i] += o.winDirections[i];
+  }
+
+  public long games() {
+    return games;
+  }
+
+  public void writeReport(PrintWriter out) {
+    out.printf("games %d (rejected %d)%n", games, rejected);
+    out.printf(
+        "black wins %d (%.2f%%), white wins %d (%.2f%%), draws %d (%.2f%%)%n",
+        blackWins, pct(blackWins), whiteWins, pct(whiteWins), draws, pct(draws));
+
+    out.println();
+    out.println("game length (stones): count");
+    long seen = 0;
+    long[] marks = {games / 2, games * 9 / 10, games * 99 / 100};
+    int[] quantiles = new int[marks.length];
+    for (int len = 0; len < lengths.length; len++) {
+      if (lengths[len] == 0) continue;
+      out.printf("  %3d: %d%n", len, lengths[len]);
+      for (int q = 0; q < marks.length; q++) {
+        if (seen <= marks[q] && seen + lengths[len] > marks[q]) quantiles[q] = len;
+      }
+      seen += lengths[len];
+    }
+    out.printf("  p50 %d, p90 %d, p99 %d%n", quantiles[0], quantiles[1], quantiles[2]);
+
+    out.println();
+    out.println("first move heatmap (games per cell):");
+    int n = GameConfig.CFG.BOARD_SIZE;
+    for (int y = 0; y < n; y++) {
+      StringBuilder row = new StringBuilder("  ");
+      for (int x = 0; x < n; x++) row.append(String.format("%7d", firstMoves[y * n + x]));
+      out.println(row);
+    }
+
+    out.println();
+    out.println("winning line direction (dx,dy): wins");
+    for (int i = 0; i < winDirections.length; i++) {
+      int[] d = GameConfig.CFG.DIRECTIONS[i];
+      out.printf("  (%d,%d): %d%n", d[0], d[1], winDirections[i]);
+    }
+    out.flush();
+  }
+
+  private double pct(long v) {
+    return games == 0 ? 0 : 100.0 * v / games;
+  }
+}
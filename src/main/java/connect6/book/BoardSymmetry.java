@@ -0,0 +1,43 @@
+package connect6.book;
+
+import connect6.game.GameConfig;
+
+/** The 8 rotations and reflections of the square board, as cell-index lookup tables. */
+public final class BoardSymmetry {
+  public static final int COUNT = 8;
+
+  private static final int[][] MAP;
+  private static final int[] INVERSE = new int[COUNT];
+
+  static {
+    int n = GameConfig.CFG.BOARD_SIZE;
+    int m = n - 1;
+    MAP = new int[COUNT][n * n];
+    for (int y = 0; y < n; y++) {
+      for (int x = 0; x < n; x++) {
+        int[][] images = {
+          {x, y}, {m - x, y}, {x, m - y}, {m - x, m - y},
+          {y, x}, {m - y, x}, {y, m - x}, {m - y, m - x}
+        };
+        for (int s = 0; s < COUNT; s++) MAP[s][y * n + x] = images[s][1] * n + images[s][0];
+      }
+    }
+
+    int probe = 1;
+    for (int s = 0; s < COUNT; s++) {
+      for (int t = 0; t < COUNT; t++) {
+        if (MAP[t][MAP[s][probe]] == probe) INVERSE[s] = t;
+      }
+    }
+  }
+
+  private BoardSymmetry() {}
+
+  public static int apply(int symmetry, int cell) {
+    return MAP[symmetry][cell];
+  }
+
+  public static int inverse(int symmetry) {
+    return INVERSE[symmetry];
+  }
+}
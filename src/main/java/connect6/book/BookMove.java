@@ -0,0 +1,7 @@
+package connect6.book;
+
+public record BookMove(int x, int y, int plays, int wins, int draws) {
+  public double score() {
+    return plays == 0 ? 0 : (wins + draws * 0.5) / plays;
+  }
+}
@@ -0,0 +1,93 @@
+package connect6.book;
+
+import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
+import connect6.game.GameRecord;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only opening book backed by a memory-mapped file of fixed-size entries sorted by position
+ * hash. A lookup is one binary search over the mapping; nothing is loaded onto the heap, and the
+ * instance can be shared by any number of threads.
+ */
+public class OpeningBook {
+  static final int MAGIC = 0x43364B42;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 16;
+  static final int ENTRY_BYTES = 24;
+
+  private final MappedByteBuffer buf;
+  private final int count;
+
+  private OpeningBook(MappedByteBuffer buf) throws IOException {
+    this.buf = buf;
+    if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC)
+      throw new IOException("Not an opening book file");
+    if (buf.getInt(4) != VERSION)
+      throw new IOException("Unsupported book version " + buf.getInt(4));
+    if (buf.getInt(8) != GameConfig.CFG.BOARD_SIZE)
+      throw new IOException("Book was built for board size " + buf.getInt(8));
+
+    this.count = buf.getInt(12);
+    if ((long) HEADER_BYTES + (long) count * ENTRY_BYTES > buf.capacity())
+      throw new IOException("Truncated opening book");
+  }
+
+  public static OpeningBook open(Path path) throws IOException {
+    try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (ch.size() > Integer.MAX_VALUE) throw new IOException("Opening book too large: " + path);
+      return new OpeningBook(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+    }
+  }
+
+  public int size() {
+    return count;
+  }
+
+  public List<BookMove> lookup(Connect6Game game) {
+    if (game.isGameOver()) return List.of();
+    return lookup(PositionKey.of(game, game.getCurrentPlayer(), game.getStonesLeftThisTurn()));
+  }
+
+  /** Moves recorded for {@code key}, most played first, in the coordinates of the queried board. */
+  public List<BookMove> lookup(PositionKey key) {
+    int i = lowerBound(key.hash());
+    if (i >= count || hashAt(i) != key.hash()) return List.of();
+
+    int back = BoardSymmetry.inverse(key.symmetry());
+    List<BookMove> moves = new ArrayList<>();
+    for (; i < count && hashAt(i) == key.hash(); i++) {
+      int at = HEADER_BYTES + i * ENTRY_BYTES;
+      int cell = BoardSymmetry.apply(back, buf.getInt(at + 8));
+      moves.add(
+          new BookMove(
+              GameRecord.x(cell),
+              GameRecord.y(cell),
+              buf.getInt(at + 12),
+              buf.getInt(at + 16),
+              buf.getInt(at + 20)));
+    }
+    return moves;
+  }
+
+  private int lowerBound(long hash) {
+    int lo = 0;
+    int hi = count;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (hashAt(mid) < hash) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  private long hashAt(int i) {
+    return buf.getLong(HEADER_BYTES + i * ENTRY_BYTES);
+  }
+}
@@ -0,0 +1,156 @@
+package connect6.book;
+
+import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
+import connect6.game.GameRecord;
+import connect6.game.PlaceResult;
+import connect6.game.PlayerType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Mines {@link GameRecord} files into an {@link OpeningBook}. Every position within the first
+ * {@code --depth} stones is canonicalised over the board symmetries, so mirrored and rotated lines
+ * share statistics.
+ *
+ * <p>Usage: {@code OpeningBookBuilder --out=book.bin [--depth=12] [--min-plays=2] games.txt...}
+ */
+public class OpeningBookBuilder {
+  private static final Logger LOG = Logger.getLogger(OpeningBookBuilder.class.getName());
+
+  private record Key(long hash, int move) {}
+
+  private final int depth;
+  private final Map<Key, int[]> stats = new HashMap<>();
+  private final Connect6Game game = new Connect6Game();
+  private final PositionKey.Hasher hasher = new PositionKey.Hasher();
+  private long games;
+  private long rejected;
+
+  public OpeningBookBuilder(int depth) {
+    this.depth = depth;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path out = Path.of("book.bin");
+    int depth = 12;
+    int minPlays = 2;
+    List<Path> inputs = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("--out=")) out = Path.of(arg.substring(6));
+      else if (arg.startsWith("--depth=")) depth = Integer.parseInt(arg.substring(8));
+      else if (arg.startsWith("--min-plays=")) minPlays = Integer.parseInt(arg.substring(12));
+      else inputs.add(Path.of(arg));
+    }
+    if (inputs.isEmpty()) throw new IllegalArgumentException("No game record files given");
+
+    OpeningBookBuilder builder = new OpeningBookBuilder(depth);
+    for (Path in : inputs) {
+      try (BufferedReader r = Files.newBufferedReader(in, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = r.readLine()) != null) {
+          if (line.isBlank()) continue;
+          try {
+            builder.add(GameRecord.parse(line));
+          } catch (IllegalArgumentException e) {
+            builder.rejected++;
+          }
+        }
+      }
+    }
+
+    int written = builder.write(out, minPlays);
+    LOG.info(
+        "Read "
+            + builder.games
+            + " games ("
+            + builder.rejected
+            + " rejected), wrote "
+            + written
+            + " entries to "
+            + out);
+  }
+
+  public void add(GameRecord record) {
+    game.resetGame();
+    hasher.reset();
+    int plies = Math.min(depth, record.moves().length);
+    List<Key> seen = new ArrayList<>(plies);
+    List<PlayerType> movers = new ArrayList<>(plies);
+
+    for (int i = 0; i < plies; i++) {
+      int cell = record.moves()[i];
+      PlayerType mover = game.getCurrentPlayer();
+      PositionKey key = hasher.key(mover, game.getStonesLeftThisTurn());
+
+      if (game.placeStone(GameRecord.x(cell), GameRecord.y(cell)) != PlaceResult.OK) {
+        rejected++;
+        return;
+      }
+      hasher.place(cell, mover);
+      if (game.shouldSwitchPlayer()) game.switchPlayer();
+
+      seen.add(new Key(key.hash(), key.canonicalMove(cell)));
+      movers.add(mover);
+    }
+
+    games++;
+    for (int i = 0; i < seen.size(); i++) {
+      int[] s = stats.computeIfAbsent(seen.get(i), k -> new int[3]);
+      s[0]++;
+      if (record.winner() == null) s[2]++;
+      else if (record.winner() == movers.get(i)) s[1]++;
+    }
+  }
+
+  public int write(Path out, int minPlays) throws IOException {
+    List<Map.Entry<Key, int[]>> entries = new ArrayList<>();
+    for (Map.Entry<Key, int[]> e : stats.entrySet()) {
+      if (e.getValue()[0] >= minPlays) entries.add(e);
+    }
+    entries.sort(
+        Comparator.<Map.Entry<Key, int[]>>comparingLong(e -> e.getKey().hash())
+            .thenComparing(e -> -e.getValue()[0])
+            .thenComparingInt(e -> e.getKey().move()));
+
+    try (FileChannel ch =
+        FileChannel.open(
+            out,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+      buf.putInt(OpeningBook.MAGIC)
+          .putInt(OpeningBook.VERSION)
+          .putInt(GameConfig.CFG.BOARD_SIZE)
+          .putInt(entries.size());
+
+      for (Map.Entry<Key, int[]> e : entries) {
+        if (buf.remaining() < OpeningBook.ENTRY_BYTES) flush(ch, buf);
+        int[] s = e.getValue();
+        buf.putLong(e.getKey().hash()).putInt(e.getKey().move()).putInt(s[0]).putInt(s[1]);
+        buf.putInt(s[2]);
+      }
+      flush(ch, buf);
+    }
+    return entries.size();
+  }
+
+  private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining()) ch.write(buf);
+    buf.clear();
+  }
+}
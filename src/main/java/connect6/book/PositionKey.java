@@ -0,0 +1,82 @@
+package connect6.book;
+
+import connect6.game.BoardView;
+import connect6.game.GameConfig;
+import connect6.game.PlayerType;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hash of a position reduced over the 8 board symmetries. {@code symmetry} maps cells of
+ * the actual board onto the canonical orientation the hash was taken in; {@code symmetries} is the
+ * bit set of every symmetry that reaches that orientation, more than one for symmetric positions.
+ */
+public record PositionKey(long hash, int symmetry, int symmetries) {
+  private static final int CELLS = GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE;
+  private static final long[][] STONE_KEYS = new long[2][CELLS];
+  private static final long[][] TURN_KEYS = new long[2][GameConfig.CFG.NORMAL_TURN_STONES + 1];
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x436F6E6E65637436L);
+    for (long[] keys : STONE_KEYS) {
+      for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+    }
+    for (long[] keys : TURN_KEYS) {
+      for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+    }
+  }
+
+  public static PositionKey of(BoardView board, PlayerType toMove, int stonesLeft) {
+    Hasher h = new Hasher();
+    int n = GameConfig.CFG.BOARD_SIZE;
+    for (int y = 0; y < n; y++) {
+      for (int x = 0; x < n; x++) {
+        char c = board.getCell(x, y);
+        if (c == GameConfig.CFG.PLAYER1_STONE) h.place(y * n + x, PlayerType.BLACK);
+        else if (c == GameConfig.CFG.PLAYER2_STONE) h.place(y * n + x, PlayerType.WHITE);
+      }
+    }
+    return h.key(toMove, stonesLeft);
+  }
+
+  /** Canonical form of a move from this position, equal for all moves that are equivalent in it. */
+  public int canonicalMove(int cell) {
+    int best = Integer.MAX_VALUE;
+    for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+      if ((symmetries & (1 << s)) != 0) best = Math.min(best, BoardSymmetry.apply(s, cell));
+    }
+    return best;
+  }
+
+  /** Incremental form used when replaying games: one XOR per symmetry per stone. */
+  public static final class Hasher {
+    private final long[] hashes = new long[BoardSymmetry.COUNT];
+
+    public void place(int cell, PlayerType player) {
+      long[] keys = STONE_KEYS[player.ordinal()];
+      for (int s = 0; s < BoardSymmetry.COUNT; s++) hashes[s] ^= keys[BoardSymmetry.apply(s, cell)];
+    }
+
+    public void reset() {
+      Arrays.fill(hashes, 0L);
+    }
+
+    public PositionKey key(PlayerType toMove, int stonesLeft) {
+      long turn = TURN_KEYS[toMove.ordinal()][stonesLeft];
+      long best = hashes[0] ^ turn;
+      int bestSymmetry = 0;
+      int all = 1;
+      for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+        long h = hashes[s] ^ turn;
+        if (h < best) {
+          best = h;
+          bestSymmetry = s;
+          all = 1 << s;
+        } else if (h == best) {
+          all |= 1 << s;
+        }
+      }
+      return new PositionKey(best, bestSymmetry, all);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package connect6.bot;
+
+import connect6.book.BookMove;
+import connect6.book.OpeningBook;
+import connect6.game.Connect6Game;
+import connect6.game.GameRecord;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Plays book moves in proportion to how often they were played, then defers to a fallback bot. */
+public class BookBot implements Bot {
+  private final OpeningBook book;
+  private final Bot fallback;
+
+  public BookBot(OpeningBook book, Bot fallback) {
+    this.book = book;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public String name() {
+    return fallback.name() + "+book";
+  }
+
+  @Override
+  public int nextMove(Connect6Game game, SplittableRandom random) {
+    List<BookMove> moves = book.lookup(game);
+    if (moves.isEmpty()) return fallback.nextMove(game, random);
+
+    int total = 0;
+    for (BookMove m : moves) total += m.plays();
+    int pick = random.nextInt(total);
+    for (BookMove m : moves) {
+      pick -= m.plays();
+      if (pick < 0) return GameRecord.cell(m.x(), m.y());
+    }
+    return fallback.nextMove(game, random);
+  }
+}
@@ -0,0 +1,12 @@
+package connect6.bot;
+
+import connect6.game.Connect6Game;
+import java.util.SplittableRandom;
+
+/** Stone-by-stone move chooser. Implementations must be stateless so workers can share them. */
+public interface Bot {
+  String name();
+
+  /** Returns the cell index ({@code y * BOARD_SIZE + x}) of the next stone for the side to move. */
+  int nextMove(Connect6Game game, SplittableRandom random);
+}
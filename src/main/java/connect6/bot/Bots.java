@@ -0,0 +1,29 @@
+package connect6.bot;
+
+import connect6.book.OpeningBook;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+public final class Bots {
+  private Bots() {}
+
+  /** {@code random}, {@code greedy}, or {@code <bot>@<book file>} to open with a book. */
+  public static Bot byName(String name) {
+    int at = name.indexOf('@');
+    if (at >= 0) {
+      try {
+        return new BookBot(
+            OpeningBook.open(Path.of(name.substring(at + 1))), byName(name.substring(0, at)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    return switch (name) {
+      case "random" -> new RandomBot();
+      case "greedy" -> new GreedyBot();
+      default -> throw new IllegalArgumentException("Unknown bot: " + name);
+    };
+  }
+}
@@ -0,0 +1,37 @@
+package connect6.bot;
+
+import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
+import java.util.SplittableRandom;
+
+public class GreedyBot implements Bot {
+  private static final ThreadLocal<int[]> SCORES =
+      ThreadLocal.withInitial(() -> new int[GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE]);
+
+  @Override
+  public String name() {
+    return "greedy";
+  }
+
+  @Override
+  public int nextMove(Connect6Game game, SplittableRandom random) {
+    int[] scores = SCORES.get();
+    WindowEvaluator.score(game, game.getCurrentPlayer(), game.getStonesLeftThisTurn(), scores);
+
+    int best = -1;
+    int bestScore = -1;
+    int ties = 0;
+    for (int cell = 0; cell < scores.length; cell++) {
+      int s = scores[cell];
+      if (s > bestScore) {
+        best = cell;
+        bestScore = s;
+        ties = 1;
+      } else if (s == bestScore && s >= 0 && random.nextInt(++ties) == 0) {
+        best = cell;
+      }
+    }
+    if (best < 0) throw new IllegalStateException("Board is full");
+    return best;
+  }
+}
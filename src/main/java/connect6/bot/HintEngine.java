@@ -0,0 +1,124 @@
+package connect6.bot;
+
+import connect6.book.BookMove;
+import connect6.book.OpeningBook;
+import connect6.book.PositionKey;
+import connect6.game.BoardView;
+import connect6.game.GameConfig;
+import connect6.game.GameRecord;
+import connect6.game.PlayerType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranked placements for the side to move: stones that complete a {@code WIN_COUNT} window this
+ * turn, then stones that break an opponent window one turn from completion, then book moves, then
+ * the best {@link WindowEvaluator} cells. Stateless apart from the optional book.
+ */
+public class HintEngine {
+  public enum Kind {
+    WIN,
+    BLOCK,
+    BOOK,
+    SEARCH
+  }
+
+  public record Candidate(int x, int y, int score, Kind kind) {}
+
+  private static final int CELLS = GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE;
+
+  private final OpeningBook book;
+
+  public HintEngine(OpeningBook book) {
+    this.book = book;
+  }
+
+  public List<Candidate> analyze(BoardView board, PlayerType side, int stonesLeft, int limit) {
+    int[] wins = new int[CELLS];
+    int[] blocks = new int[CELLS];
+    scanThreats(board, side, stonesLeft, wins, blocks);
+
+    List<Candidate> out = new ArrayList<>(limit);
+    boolean[] taken = new boolean[CELLS];
+    addRanked(wins, Kind.WIN, taken, out, limit);
+    addRanked(blocks, Kind.BLOCK, taken, out, limit);
+
+    if (book != null && out.size() < limit) {
+      for (BookMove m : book.lookup(PositionKey.of(board, side, stonesLeft))) {
+        add(GameRecord.cell(m.x(), m.y()), m.plays(), Kind.BOOK, taken, out, limit);
+      }
+    }
+
+    if (out.size() < limit) {
+      int[] scores = new int[CELLS];
+      WindowEvaluator.score(board, side, stonesLeft, scores);
+      addRanked(scores, Kind.SEARCH, taken, out, limit);
+    }
+    return out;
+  }
+
+  private static void scanThreats(
+      BoardView board, PlayerType side, int stonesLeft, int[] wins, int[] blocks) {
+    int n = GameConfig.CFG.BOARD_SIZE;
+    int win = GameConfig.CFG.WIN_COUNT;
+    char empty = GameConfig.CFG.EMPTY_CELL;
+    char own =
+        side == PlayerType.BLACK ? GameConfig.CFG.PLAYER1_STONE : GameConfig.CFG.PLAYER2_STONE;
+    int winAt = win - stonesLeft;
+    int threatAt = win - GameConfig.CFG.NORMAL_TURN_STONES;
+
+    for (int[] d : GameConfig.CFG.DIRECTIONS) {
+      for (int y = 0; y < n; y++) {
+        for (int x = 0; x < n; x++) {
+          int ex = x + d[0] * (win - 1);
+          int ey = y + d[1] * (win - 1);
+          if (ex < 0 || ex >= n || ey < 0 || ey >= n) continue;
+
+          int mine = 0;
+          int theirs = 0;
+          for (int k = 0; k < win; k++) {
+            char c = board.getCell(x + d[0] * k, y + d[1] * k);
+            if (c == own) mine++;
+            else if (c != empty) theirs++;
+          }
+
+          int[] target;
+          int weight;
+          if (theirs == 0 && mine >= winAt) {
+            target = wins;
+            weight = 1 << mine;
+          } else if (mine == 0 && theirs >= threatAt) {
+            target = blocks;
+            weight = 1 << theirs;
+          } else {
+            continue;
+          }
+
+          for (int k = 0; k < win; k++) {
+            int cx = x + d[0] * k;
+            int cy = y + d[1] * k;
+            if (board.getCell(cx, cy) == empty) target[cy * n + cx] += weight;
+          }
+        }
+      }
+    }
+  }
+
+  private static void addRanked(
+      int[] scores, Kind kind, boolean[] taken, List<Candidate> out, int limit) {
+    List<Integer> cells = new ArrayList<>();
+    for (int c = 0; c < scores.length; c++) {
+      if (scores[c] > 0 && !taken[c]) cells.add(c);
+    }
+    cells.sort(Comparator.comparingInt((Integer c) -> -scores[c]).thenComparingInt(c -> c));
+    for (int c : cells) add(c, scores[c], kind, taken, out, limit);
+  }
+
+  private static void add(
+      int cell, int score, Kind kind, boolean[] taken, List<Candidate> out, int limit) {
+    if (out.size() >= limit || taken[cell]) return;
+    taken[cell] = true;
+    out.add(new Candidate(GameRecord.x(cell), GameRecord.y(cell), score, kind));
+  }
+}
@@ -0,0 +1,24 @@
+package connect6.bot;
+
+import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
+import java.util.SplittableRandom;
+
+public class RandomBot implements Bot {
+  @Override
+  public String name() {
+    return "random";
+  }
+
+  @Override
+  public int nextMove(Connect6Game game, SplittableRandom random) {
+    int n = GameConfig.CFG.BOARD_SIZE;
+    int cells = n * n;
+    int start = random.nextInt(cells);
+    for (int i = 0; i < cells; i++) {
+      int cell = (start + i) % cells;
+      if (game.getCell(cell % n, cell / n) == GameConfig.CFG.EMPTY_CELL) return cell;
+    }
+    throw new IllegalStateException("Board is full");
+  }
+}
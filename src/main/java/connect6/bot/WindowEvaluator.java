@@ -0,0 +1,62 @@
+package connect6.bot;
+
+import connect6.game.BoardView;
+import connect6.game.GameConfig;
+import connect6.game.PlayerType;
+
+/**
+ * Scores empty cells by the {@code WIN_COUNT}-long windows through them: a window still open for
+ * one side adds weight for every stone that side already has in it, and a window the side to move
+ * can fill with the stones it has left this turn outweighs every defensive window. One pass over
+ * all windows per call, no allocation.
+ */
+public final class WindowEvaluator {
+  private static final int[] ATTACK = {1, 6, 40, 300, 5_000, 1_000_000, 0};
+  private static final int[] DEFEND = {0, 5, 30, 200, 20_000, 200_000, 0};
+  private static final int COMPLETE = 10_000_000;
+
+  private WindowEvaluator() {}
+
+  /** Fills {@code scores} (length {@code BOARD_SIZE^2}); occupied cells get {@code -1}. */
+  public static void score(BoardView board, PlayerType side, int stonesLeft, int[] scores) {
+    int n = GameConfig.CFG.BOARD_SIZE;
+    int win = GameConfig.CFG.WIN_COUNT;
+    char empty = GameConfig.CFG.EMPTY_CELL;
+    char own =
+        side == PlayerType.BLACK ? GameConfig.CFG.PLAYER1_STONE : GameConfig.CFG.PLAYER2_STONE;
+
+    for (int y = 0; y < n; y++) {
+      for (int x = 0; x < n; x++) scores[y * n + x] = board.getCell(x, y) == empty ? 0 : -1;
+    }
+
+    for (int[] d : GameConfig.CFG.DIRECTIONS) {
+      int dx = d[0];
+      int dy = d[1];
+      for (int y = 0; y < n; y++) {
+        for (int x = 0; x < n; x++) {
+          int ex = x + dx * (win - 1);
+          int ey = y + dy * (win - 1);
+          if (ex < 0 || ex >= n || ey < 0 || ey >= n) continue;
+
+          int mine = 0;
+          int theirs = 0;
+          for (int k = 0; k < win; k++) {
+            char c = board.getCell(x + dx * k, y + dy * k);
+            if (c == own) mine++;
+            else if (c != empty) theirs++;
+          }
+
+          int weight;
+          if (theirs == 0) weight = win - mine <= stonesLeft ? COMPLETE : ATTACK[mine];
+          else if (mine == 0) weight = DEFEND[theirs];
+          else continue;
+
+          for (int k = 0; k < win; k++) {
+            int cell = (y + dy * k) * n + x + dx * k;
+            if (scores[cell] >= 0) scores[cell] += weight;
+          }
+        }
+      }
+    }
+  }
+}
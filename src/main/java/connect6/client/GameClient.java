@@ -1,28 +1,39 @@
 package connect6.client;
 
+import connect6.client.sdk.Connect6Client;
+import connect6.client.sdk.GameEventListener;
+import connect6.client.sdk.PlayerSession;
 import connect6.client.ui.GameClientUI;
 import connect6.client.ui.Images;
 import connect6.game.PlayerType;
 import connect6.grpc.*;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import io.grpc.stub.StreamObserver;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.swing.*;
 
 public class GameClient extends JFrame {
+  private static final int HINT_COUNT = 5;
 
-  private ManagedChannel channel;
-  private Connect6GameGrpc.Connect6GameStub asyncStub;
-  private Connect6GameGrpc.Connect6GameBlockingStub blockingStub;
+  private Connect6Client client;
+  private volatile PlayerSession session;
 
   private String playerName;
   private PlayerType playerRole;
 
   private boolean myTurn = false;
   private boolean gameActive = false;
+  private int boardVersion = 0;
+
+  private long blackMillis;
+  private long whiteMillis;
+  private long clockStampNanos;
+  private final Timer clockTimer = new Timer(200, e -> showClock());
 
   private int playerWins = 0;
   private int opponentWins = 0;
+  private String ratingText = "-";
 
   private final GameClientUI ui = new GameClientUI();
 
@@ -47,10 +58,12 @@ public class GameClient extends JFrame {
 
     ui.scoreLabel.setText(getScoreText());
     ui.disconnectBtn.setEnabled(false);
+    ui.hintBtn.setEnabled(false);
 
     ui.boardPanel.setClickListener(this::handleBoardClick);
     ui.connectBtn.addActionListener(e -> onConnectClicked());
     ui.disconnectBtn.addActionListener(e -> dispose());
+    ui.hintBtn.addActionListener(e -> requestHint());
   }
 
   private void onConnectClicked() {
@@ -62,7 +75,7 @@ public class GameClient extends JFrame {
 
     connectToServer(playerName);
 
-    if (channel != null) {
+    if (client != null) {
       ui.connectBtn.setEnabled(false);
       ui.disconnectBtn.setEnabled(true);
     }
@@ -70,16 +83,8 @@ public class GameClient extends JFrame {
 
   private void connectToServer(String name) {
     try {
-      channel =
-          ManagedChannelBuilder.forAddress(
-                  ClientConfig.CFG.SERVER_HOST, ClientConfig.CFG.SERVER_PORT)
-              .usePlaintext()
-              .build();
-
-      asyncStub = Connect6GameGrpc.newStub(channel);
-      blockingStub = Connect6GameGrpc.newBlockingStub(channel);
-
-      asyncStub.register(PlayerInfo.newBuilder().setName(name).build(), new ServerEventObserver());
+      client = Connect6Client.connect(ClientConfig.CFG.SERVER_HOST, ClientConfig.CFG.SERVER_PORT);
+      client.register(name, new ServerEventListener()).thenAccept(s -> session = s);
 
       ui.statusLabel.setText("Connected as: " + name);
 
@@ -99,20 +104,46 @@ public class GameClient extends JFrame {
       return;
     }
 
-    try {
-      MoveResult res =
-          blockingStub.makeMove(Move.newBuilder().setPlayer(playerName).setX(x).setY(y).build());
-
-      if (!res.getSuccess())
-        JOptionPane.showMessageDialog(this, "Move failed: " + res.getMessage());
+    session
+        .move(x, y)
+        .whenComplete(
+            (res, err) -> {
+              String failure =
+                  err != null ? err.getMessage() : res.getSuccess() ? null : res.getMessage();
+              if (failure != null)
+                SwingUtilities.invokeLater(
+                    () -> JOptionPane.showMessageDialog(this, "Move failed: " + failure));
+            });
+  }
 
-    } catch (Exception e) {
-      JOptionPane.showMessageDialog(this, "Move failed: " + e.getMessage());
-    }
+  private void requestHint() {
+    if (!gameActive || !myTurn || session == null) return;
+
+    int version = boardVersion;
+    session
+        .hint(HINT_COUNT)
+        .whenComplete(
+            (reply, err) -> {
+              if (err != null) {
+                showError("Hint failed: " + err.getMessage());
+                return;
+              }
+              List<Point> cells = new ArrayList<>();
+              for (HintCandidate c : reply.getCandidatesList())
+                cells.add(new Point(c.getX(), c.getY()));
+              SwingUtilities.invokeLater(
+                  () -> {
+                    if (version == boardVersion && myTurn) ui.boardPanel.setHints(cells);
+                  });
+            });
   }
 
   private void updateBoard(char[][] board) {
-    SwingUtilities.invokeLater(() -> ui.boardPanel.setBoard(board));
+    SwingUtilities.invokeLater(
+        () -> {
+          boardVersion++;
+          ui.boardPanel.setBoard(board);
+        });
   }
 
   private void setPlayerRoleFromServer(String role) {
@@ -122,20 +153,65 @@ public class GameClient extends JFrame {
           ui.roleLabel.setText("Role: " + playerRole);
           ui.statusLabel.setText("Connected as: " + playerName + " (" + playerRole + ")");
         });
+    refreshRating();
+  }
+
+  private void refreshRating() {
+    client
+        .rating(playerName)
+        .thenAccept(
+            r ->
+                SwingUtilities.invokeLater(
+                    () -> {
+                      ratingText = Math.round(r.getRating()) + " (#" + r.getRank() + ")";
+                      ui.scoreLabel.setText(getScoreText());
+                    }));
   }
 
   private void setCurrentTurn(String player) {
     SwingUtilities.invokeLater(
         () -> {
           myTurn = player.equals(playerName);
+          boardVersion++;
+          ui.hintBtn.setEnabled(myTurn);
           ui.turnLabel.setText(myTurn ? "Your turn (" + playerRole + ")" : "Opponent's turn");
         });
   }
 
+  private void setClock(long black, long white) {
+    SwingUtilities.invokeLater(
+        () -> {
+          blackMillis = black;
+          whiteMillis = white;
+          clockStampNanos = System.nanoTime();
+          showClock();
+          if (gameActive) clockTimer.start();
+        });
+  }
+
+  private void showClock() {
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - clockStampNanos);
+    PlayerType running =
+        !gameActive || playerRole == null
+            ? null
+            : myTurn
+                ? playerRole
+                : playerRole == PlayerType.BLACK ? PlayerType.WHITE : PlayerType.BLACK;
+    long black = blackMillis - (running == PlayerType.BLACK ? elapsed : 0);
+    long white = whiteMillis - (running == PlayerType.WHITE ? elapsed : 0);
+    ui.clockLabel.setText("Black " + formatClock(black) + "  White " + formatClock(white));
+  }
+
+  private static String formatClock(long millis) {
+    long secs = Math.max(0, millis) / 1000;
+    return String.format("%d:%02d", secs / 60, secs % 60);
+  }
+
   private void gameStarted() {
     SwingUtilities.invokeLater(
         () -> {
           gameActive = true;
+          clockTimer.start();
           ui.statusLabel.setText("Game started!");
         });
   }
@@ -145,6 +221,10 @@ public class GameClient extends JFrame {
         () -> {
           gameActive = false;
           myTurn = false;
+          clockTimer.stop();
+          showClock();
+          boardVersion++;
+          ui.hintBtn.setEnabled(false);
 
           if (winner.equals(playerRole != null ? playerRole.name() : "")
               || winner.equals("OPPONENT_DISCONNECTED")) playerWins++;
@@ -166,12 +246,13 @@ public class GameClient extends JFrame {
                   JOptionPane.YES_NO_OPTION);
 
           if (opt == JOptionPane.YES_OPTION) {
-            try {
-              blockingStub.requestRematch(
-                  RematchRequest.newBuilder().setPlayer(playerName).build());
-            } catch (Exception e) {
-              showError("Rematch request failed: " + e.getMessage());
-            }
+            session
+                .rematch()
+                .exceptionally(
+                    e -> {
+                      showError("Rematch request failed: " + e.getMessage());
+                      return null;
+                    });
           }
         });
   }
@@ -180,10 +261,15 @@ public class GameClient extends JFrame {
     SwingUtilities.invokeLater(() -> ui.statusLabel.setText(msg));
   }
 
-  private class ServerEventObserver implements StreamObserver<GameEvent> {
+  private class ServerEventListener implements GameEventListener {
 
     @Override
-    public void onNext(GameEvent e) {
+    public void onEvent(GameEvent e) {
+
+      if (e.hasUpdate()) {
+        applyUpdate(e.getUpdate());
+        return;
+      }
 
       if (e.hasRole()) {
         setPlayerRoleFromServer(e.getRole());
@@ -191,21 +277,7 @@ public class GameClient extends JFrame {
       }
 
       if (e.hasBoard()) {
-        Board b = e.getBoard();
-        int n = b.getRowsCount();
-        char[][] board = new char[n][n];
-
-        for (int i = 0; i < n; i++) {
-          Row row = b.getRows(i);
-          for (int j = 0; j < row.getCellsCount(); j++) {
-            String c = row.getCells(j);
-            board[i][j] = c.isEmpty() ? '.' : c.charAt(0);
-          }
-        }
-
-        if (!gameActive) gameStarted();
-
-        updateBoard(board);
+        applyBoard(e.getBoard());
         return;
       }
 
@@ -226,13 +298,43 @@ public class GameClient extends JFrame {
       }
     }
 
+    private void applyUpdate(GameUpdate u) {
+      if (u.hasRole()) setPlayerRoleFromServer(u.getRole());
+      for (String status : u.getStatusList()) showError(status);
+      if (u.hasBoard()) applyBoard(u.getBoard());
+      if (u.hasBlackMillis() && u.hasWhiteMillis())
+        setClock(u.getBlackMillis(), u.getWhiteMillis());
+      if (u.hasCurrentTurn()) {
+        if (!gameActive) gameStarted();
+        setCurrentTurn(u.getCurrentTurn());
+      }
+      if (u.hasWinner()) gameOverInternal(u.getWinner());
+    }
+
+    private void applyBoard(Board b) {
+      int n = b.getRowsCount();
+      char[][] board = new char[n][n];
+
+      for (int i = 0; i < n; i++) {
+        Row row = b.getRows(i);
+        for (int j = 0; j < row.getCellsCount(); j++) {
+          String c = row.getCells(j);
+          board[i][j] = c.isEmpty() ? '.' : c.charAt(0);
+        }
+      }
+
+      if (!gameActive) gameStarted();
+
+      updateBoard(board);
+    }
+
     @Override
     public void onError(Throwable t) {
       showError("Connection error: " + t.getMessage());
     }
 
     @Override
-    public void onCompleted() {
+    public void onClosed() {
       showError("Server closed connection");
     }
   }
@@ -240,10 +342,8 @@ public class GameClient extends JFrame {
   @Override
   public void dispose() {
     try {
-      if (blockingStub != null && playerName != null) {
-        blockingStub.disconnect(DisconnectRequest.newBuilder().setPlayer(playerName).build());
-      }
-      if (channel != null) channel.shutdownNow();
+      if (session != null) session.disconnect().get(2, TimeUnit.SECONDS);
+      if (client != null) client.close();
 
     } catch (Exception ignored) {
     }
@@ -257,6 +357,8 @@ public class GameClient extends JFrame {
         + playerWins
         + "<br>Opponent wins: "
         + opponentWins
+        + "<br>Rating: "
+        + ratingText
         + "</html>";
   }
 }
@@ -0,0 +1,98 @@
+package connect6.client.sdk;
+
+import connect6.grpc.Connect6GameGrpc;
+import connect6.grpc.GameEvent;
+import connect6.grpc.LeaderboardReply;
+import connect6.grpc.LeaderboardRequest;
+import connect6.grpc.PlayerInfo;
+import connect6.grpc.PlayerRating;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UI-independent entry point to a Connect6 server. Any number of {@link PlayerSession}s can be
+ * registered through one client; each is a separate call multiplexed over the same channel.
+ */
+public class Connect6Client implements AutoCloseable {
+  private final ManagedChannel channel;
+  private final boolean ownsChannel;
+  private final Connect6GameGrpc.Connect6GameStub stub;
+
+  public Connect6Client(ManagedChannel channel) {
+    this(channel, false);
+  }
+
+  private Connect6Client(ManagedChannel channel, boolean ownsChannel) {
+    this.channel = channel;
+    this.ownsChannel = ownsChannel;
+    this.stub = Connect6GameGrpc.newStub(channel);
+  }
+
+  public static Connect6Client connect(String host, int port) {
+    return new Connect6Client(
+        ManagedChannelBuilder.forAddress(host, port).usePlaintext().build(), true);
+  }
+
+  /**
+   * Opens the player's event stream. The future completes with the session once the server has
+   * issued its token, or exceptionally if the stream fails first (for example, name in use).
+   */
+  public CompletableFuture<PlayerSession> register(String name, GameEventListener listener) {
+    CompletableFuture<PlayerSession> registered = new CompletableFuture<>();
+
+    stub.register(
+        PlayerInfo.newBuilder().setName(name).build(),
+        new StreamObserver<>() {
+          @Override
+          public void onNext(GameEvent event) {
+            if (event.hasSession()) {
+              registered.complete(new PlayerSession(stub, name, event.getSession()));
+              return;
+            }
+            listener.onEvent(event);
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            registered.completeExceptionally(t);
+            listener.onError(t);
+          }
+
+          @Override
+          public void onCompleted() {
+            registered.completeExceptionally(
+                new IllegalStateException("Server closed the stream during registration"));
+            listener.onClosed();
+          }
+        });
+    return registered;
+  }
+
+  public CompletableFuture<LeaderboardReply> leaderboard(int limit) {
+    UnaryFuture<LeaderboardReply> f = new UnaryFuture<>();
+    stub.getLeaderboard(LeaderboardRequest.newBuilder().setLimit(limit).build(), f);
+    return f;
+  }
+
+  /** Fails with {@code NOT_FOUND} until the player has finished a rated game. */
+  public CompletableFuture<PlayerRating> rating(String name) {
+    UnaryFuture<PlayerRating> f = new UnaryFuture<>();
+    stub.getRating(PlayerInfo.newBuilder().setName(name).build(), f);
+    return f;
+  }
+
+  @Override
+  public void close() {
+    if (!ownsChannel) return;
+    channel.shutdown();
+    try {
+      if (!channel.awaitTermination(5, TimeUnit.SECONDS)) channel.shutdownNow();
+    } catch (InterruptedException e) {
+      channel.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package connect6.client.sdk;
+
+import connect6.grpc.GameEvent;
+
+/** Receives one player's event stream. Called on gRPC executor threads, in stream order. */
+public interface GameEventListener {
+  void onEvent(GameEvent event);
+
+  default void onError(Throwable t) {}
+
+  default void onClosed() {}
+}
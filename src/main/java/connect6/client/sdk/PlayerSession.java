@@ -0,0 +1,56 @@
+package connect6.client.sdk;
+
+import connect6.grpc.Connect6GameGrpc;
+import connect6.grpc.DisconnectRequest;
+import connect6.grpc.HintReply;
+import connect6.grpc.HintRequest;
+import connect6.grpc.Move;
+import connect6.grpc.MoveResult;
+import connect6.grpc.RematchRequest;
+import java.util.concurrent.CompletableFuture;
+
+/** One registered player. All calls are non-blocking and share the owning client's channel. */
+public class PlayerSession {
+  private final Connect6GameGrpc.Connect6GameStub stub;
+  private final String name;
+  private final long token;
+
+  PlayerSession(Connect6GameGrpc.Connect6GameStub stub, String name, long token) {
+    this.stub = stub;
+    this.name = name;
+    this.token = token;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public long token() {
+    return token;
+  }
+
+  public CompletableFuture<MoveResult> move(int x, int y) {
+    UnaryFuture<MoveResult> f = new UnaryFuture<>();
+    stub.makeMove(Move.newBuilder().setSession(token).setX(x).setY(y).build(), f);
+    return f;
+  }
+
+  public CompletableFuture<MoveResult> rematch() {
+    UnaryFuture<MoveResult> f = new UnaryFuture<>();
+    stub.requestRematch(RematchRequest.newBuilder().setSession(token).build(), f);
+    return f;
+  }
+
+  /** Ranked candidate placements for the side to move in this player's game. */
+  public CompletableFuture<HintReply> hint(int limit) {
+    UnaryFuture<HintReply> f = new UnaryFuture<>();
+    stub.hint(HintRequest.newBuilder().setSession(token).setLimit(limit).build(), f);
+    return f;
+  }
+
+  public CompletableFuture<MoveResult> disconnect() {
+    UnaryFuture<MoveResult> f = new UnaryFuture<>();
+    stub.disconnect(DisconnectRequest.newBuilder().setSession(token).build(), f);
+    return f;
+  }
+}
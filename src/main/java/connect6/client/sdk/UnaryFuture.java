@@ -0,0 +1,21 @@
+package connect6.client.sdk;
+
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+
+final class UnaryFuture<T> extends CompletableFuture<T> implements StreamObserver<T> {
+  @Override
+  public void onNext(T value) {
+    complete(value);
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    completeExceptionally(t);
+  }
+
+  @Override
+  public void onCompleted() {
+    if (!isDone()) completeExceptionally(new IllegalStateException("Call completed without reply"));
+  }
+}
@@ -3,6 +3,7 @@ package connect6.client.ui;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.List;
 import java.util.function.BiConsumer;
 import javax.swing.*;
 
@@ -12,6 +13,7 @@ public class GameBoardPanel extends JPanel {
   private final int offset = 30;
   private char[][] board;
   private Point hoverCell;
+  private List<Point> hints = List.of();
   private BiConsumer<Integer, Integer> clickListener;
 
   public GameBoardPanel(int boardSize) {
@@ -48,6 +50,12 @@ public class GameBoardPanel extends JPanel {
 
   public void setBoard(char[][] newBoard) {
     this.board = newBoard;
+    this.hints = List.of();
+    repaint();
+  }
+
+  public void setHints(List<Point> cells) {
+    this.hints = List.copyOf(cells);
     repaint();
   }
 
@@ -70,6 +78,11 @@ public class GameBoardPanel extends JPanel {
 
     BoardRenderer.drawBoard(g2, boardSize, cellSize, offset, offset);
 
+    for (int i = 0; i < hints.size(); i++) {
+      Point p = hints.get(i);
+      HintHighlighter.draw(g2, offset + p.x * cellSize, offset + p.y * cellSize, cellSize, i);
+    }
+
     if (hoverCell != null)
       HoverHighlighter.draw(
           g2, offset + hoverCell.x * cellSize, offset + hoverCell.y * cellSize, cellSize);
@@ -11,9 +11,11 @@ public class GameClientUI {
       new JTextField("Player" + (System.currentTimeMillis() % 1000), 15);
   public final JButton connectBtn = new JButton("Connect");
   public final JButton disconnectBtn = new JButton("Disconnect");
+  public final JButton hintBtn = new JButton("Hint");
   public final JLabel statusLabel = new JLabel("Not connected");
   public final JLabel roleLabel = new JLabel("Role: -");
   public final JLabel turnLabel = new JLabel("Turn: -");
+  public final JLabel clockLabel = new JLabel("Clock: -");
   public final JLabel scoreLabel = new JLabel();
   public final GameBoardPanel boardPanel = new GameBoardPanel(19);
 
@@ -42,11 +44,13 @@ public class GameClientUI {
 
     styleButton(connectBtn, PRIMARY, Color.WHITE);
     styleButton(disconnectBtn, new Color(120, 120, 120), Color.WHITE);
+    styleButton(hintBtn, new Color(60, 140, 80), Color.WHITE);
 
     top.add(nameLabel);
     top.add(nameField);
     top.add(connectBtn);
     top.add(disconnectBtn);
+    top.add(hintBtn);
 
     root.add(top, BorderLayout.NORTH);
 
@@ -56,7 +60,7 @@ public class GameClientUI {
     right.setBorder(new EmptyBorder(10, 10, 10, 10));
 
     Font infoFont = new Font("SansSerif", Font.PLAIN, 14);
-    for (JLabel label : new JLabel[] {statusLabel, roleLabel, turnLabel, scoreLabel}) {
+    for (JLabel label : new JLabel[] {statusLabel, roleLabel, turnLabel, clockLabel, scoreLabel}) {
       label.setFont(infoFont);
       label.setForeground(TEXT_COLOR);
       label.setAlignmentX(Component.LEFT_ALIGNMENT);
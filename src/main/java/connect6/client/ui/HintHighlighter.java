@@ -0,0 +1,13 @@
+package connect6.client.ui;
+
+import java.awt.*;
+
+public class HintHighlighter {
+  public static void draw(Graphics2D g, int x, int y, int cellSize, int rank) {
+    int alpha = Math.max(48, 160 - rank * 24);
+    g.setColor(new Color(0, 170, 60, alpha));
+    g.fillOval(x + 4, y + 4, cellSize - 8, cellSize - 8);
+    g.setColor(new Color(0, 90, 30, alpha));
+    g.drawOval(x + 4, y + 4, cellSize - 8, cellSize - 8);
+  }
+}
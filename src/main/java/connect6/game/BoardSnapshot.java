@@ -0,0 +1,88 @@
+package connect6.game;
+
+import java.util.Arrays;
+
+/**
+ * Immutable board. Each row is packed into one long (2 bits per cell) and rows are grouped into
+ * small chunks, so {@link #with} copies one chunk plus the chunk table and shares the rest with the
+ * previous snapshot. Holding thousands of positions costs a few dozen bytes per stone.
+ */
+public final class BoardSnapshot implements BoardView {
+  private static final int ROWS_PER_CHUNK = 4;
+  private static final int CHUNK_SHIFT = 2;
+  private static final long CELL_MASK = 3L;
+
+  private static final int EMPTY_CODE = 0;
+  private static final int BLACK_CODE = 1;
+  private static final int WHITE_CODE = 2;
+
+  public static final BoardSnapshot EMPTY =
+      new BoardSnapshot(
+          new long[(GameConfig.CFG.BOARD_SIZE + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK]
+              [ROWS_PER_CHUNK]);
+
+  private final long[][] chunks;
+  private int hash;
+
+  private BoardSnapshot(long[][] chunks) {
+    this.chunks = chunks;
+  }
+
+  @Override
+  public char getCell(int x, int y) {
+    int code =
+        (int) ((chunks[y >> CHUNK_SHIFT][y & (ROWS_PER_CHUNK - 1)] >>> (x << 1)) & CELL_MASK);
+    return switch (code) {
+      case BLACK_CODE -> GameConfig.CFG.PLAYER1_STONE;
+      case WHITE_CODE -> GameConfig.CFG.PLAYER2_STONE;
+      default -> GameConfig.CFG.EMPTY_CELL;
+    };
+  }
+
+  public BoardSnapshot with(int x, int y, char stone) {
+    int code;
+    if (stone == GameConfig.CFG.PLAYER1_STONE) code = BLACK_CODE;
+    else if (stone == GameConfig.CFG.PLAYER2_STONE) code = WHITE_CODE;
+    else if (stone == GameConfig.CFG.EMPTY_CELL) code = EMPTY_CODE;
+    else throw new IllegalArgumentException("Unknown stone: " + stone);
+
+    int c = y >> CHUNK_SHIFT;
+    int r = y & (ROWS_PER_CHUNK - 1);
+    int shift = x << 1;
+
+    long[][] nextChunks = chunks.clone();
+    long[] chunk = chunks[c].clone();
+    chunk[r] = (chunk[r] & ~(CELL_MASK << shift)) | ((long) code << shift);
+    nextChunks[c] = chunk;
+    return new BoardSnapshot(nextChunks);
+  }
+
+  public char[][] toCharArray() {
+    int n = GameConfig.CFG.BOARD_SIZE;
+    char[][] out = new char[n][n];
+    for (int y = 0; y < n; y++) {
+      for (int x = 0; x < n; x++) out[y][x] = getCell(x, y);
+    }
+    return out;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof BoardSnapshot other)) return false;
+    for (int i = 0; i < chunks.length; i++) {
+      if (chunks[i] != other.chunks[i] && !Arrays.equals(chunks[i], other.chunks[i])) return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = Arrays.deepHashCode(chunks);
+      hash = h;
+    }
+    return h;
+  }
+}
@@ -0,0 +1,5 @@
+package connect6.game;
+
+public interface BoardView {
+  char getCell(int x, int y);
+}
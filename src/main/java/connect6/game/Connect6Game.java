@@ -1,37 +1,60 @@
 package connect6.game;
 
-public class Connect6Game {
-  private final char[][] board;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single Connect6 game state. Not thread-safe: the server only touches it under its own monitor and
+ * self-play gives every worker its own instance, so the hot path carries no locking.
+ */
+public class Connect6Game implements BoardView {
+  private record Frame(
+      BoardSnapshot board,
+      PlayerType currentPlayer,
+      boolean gameOver,
+      String winner,
+      int stonesPlacedThisTurn,
+      boolean isFirstTurn,
+      int winningDirection) {}
+
+  private final List<Frame> history = new ArrayList<>();
+  private BoardSnapshot board;
   private PlayerType currentPlayer;
   private boolean gameOver;
   private String winner;
   private int stonesPlacedThisTurn;
   private boolean isFirstTurn;
+  private int stoneCount;
+  private int winningDirection;
 
   public Connect6Game() {
-    board = new char[GameConfig.CFG.BOARD_SIZE][GameConfig.CFG.BOARD_SIZE];
     resetGame();
   }
 
-  private void initializeBoard() {
-    for (int r = 0; r < GameConfig.CFG.BOARD_SIZE; r++) {
-      for (int c = 0; c < GameConfig.CFG.BOARD_SIZE; c++) {
-        board[r][c] = GameConfig.CFG.EMPTY_CELL;
-      }
-    }
-  }
-
-  public synchronized PlaceResult placeStone(int x, int y) {
+  public PlaceResult placeStone(int x, int y) {
     if (gameOver) return PlaceResult.GAME_OVER;
     if (!isValidPosition(x, y)) return PlaceResult.INVALID_POSITION;
-    if (board[y][x] != GameConfig.CFG.EMPTY_CELL) return PlaceResult.CELL_OCCUPIED;
-
-    board[y][x] =
-        (currentPlayer == PlayerType.BLACK)
-            ? GameConfig.CFG.PLAYER1_STONE
-            : GameConfig.CFG.PLAYER2_STONE;
+    if (board.getCell(x, y) != GameConfig.CFG.EMPTY_CELL) return PlaceResult.CELL_OCCUPIED;
+
+    history.add(
+        new Frame(
+            board,
+            currentPlayer,
+            gameOver,
+            winner,
+            stonesPlacedThisTurn,
+            isFirstTurn,
+            winningDirection));
+    board =
+        board.with(
+            x,
+            y,
+            (currentPlayer == PlayerType.BLACK)
+                ? GameConfig.CFG.PLAYER1_STONE
+                : GameConfig.CFG.PLAYER2_STONE);
 
     stonesPlacedThisTurn++;
+    stoneCount++;
 
     if (checkWin(x, y)) {
       gameOver = true;
@@ -41,12 +64,27 @@ public class Connect6Game {
     return PlaceResult.OK;
   }
 
-  public synchronized boolean shouldSwitchPlayer() {
+  public boolean shouldSwitchPlayer() {
     return stonesPlacedThisTurn
         >= (isFirstTurn ? GameConfig.CFG.FIRST_TURN_STONES : GameConfig.CFG.NORMAL_TURN_STONES);
   }
 
-  public synchronized void switchPlayer() {
+  /** Takes back the last stone, restoring turn order and result as they were before it. */
+  public boolean undo() {
+    if (history.isEmpty()) return false;
+    Frame f = history.remove(history.size() - 1);
+    board = f.board();
+    currentPlayer = f.currentPlayer();
+    gameOver = f.gameOver();
+    winner = f.winner();
+    stonesPlacedThisTurn = f.stonesPlacedThisTurn();
+    isFirstTurn = f.isFirstTurn();
+    winningDirection = f.winningDirection();
+    stoneCount--;
+    return true;
+  }
+
+  public void switchPlayer() {
     if (gameOver) return;
     currentPlayer = (currentPlayer == PlayerType.BLACK) ? PlayerType.WHITE : PlayerType.BLACK;
     stonesPlacedThisTurn = 0;
@@ -54,14 +92,17 @@ public class Connect6Game {
   }
 
   private boolean checkWin(int x, int y) {
-    char stone = board[y][x];
+    char stone = board.getCell(x, y);
 
-    for (int[] d : GameConfig.CFG.DIRECTIONS) {
+    for (int i = 0; i < GameConfig.CFG.DIRECTIONS.length; i++) {
+      int[] d = GameConfig.CFG.DIRECTIONS[i];
       int count = 1;
       count += countInDirection(x, y, d[0], d[1], stone);
       count += countInDirection(x, y, -d[0], -d[1], stone);
-      count--;
-      if (count >= GameConfig.CFG.WIN_COUNT) return true;
+      if (count >= GameConfig.CFG.WIN_COUNT) {
+        winningDirection = i;
+        return true;
+      }
     }
     return false;
   }
@@ -70,7 +111,7 @@ public class Connect6Game {
     int count = 0;
     int nx = x + dx;
     int ny = y + dy;
-    while (isValidPosition(nx, ny) && board[ny][nx] == stone) {
+    while (isValidPosition(nx, ny) && board.getCell(nx, ny) == stone) {
       count++;
       nx += dx;
       ny += dy;
@@ -82,29 +123,66 @@ public class Connect6Game {
     return x >= 0 && x < GameConfig.CFG.BOARD_SIZE && y >= 0 && y < GameConfig.CFG.BOARD_SIZE;
   }
 
-  public synchronized char[][] getBoard() {
-    int n = GameConfig.CFG.BOARD_SIZE;
-    char[][] copy = new char[n][n];
-    for (int i = 0; i < n; i++) {
-      System.arraycopy(board[i], 0, copy[i], 0, n);
-    }
-    return copy;
+  @Override
+  public char getCell(int x, int y) {
+    return board.getCell(x, y);
+  }
+
+  public char[][] getBoard() {
+    return board.toCharArray();
+  }
+
+  public BoardSnapshot snapshot() {
+    return board;
   }
 
-  public synchronized boolean isGameOver() {
+  /** Board after the first {@code stones} stones of this game; O(1). */
+  public BoardSnapshot snapshotAt(int stones) {
+    if (stones < 0 || stones > history.size())
+      throw new IndexOutOfBoundsException("No position after " + stones + " stones");
+    return stones == history.size() ? board : history.get(stones).board();
+  }
+
+  public boolean isGameOver() {
     return gameOver;
   }
 
-  public synchronized String getWinner() {
+  public String getWinner() {
     return winner;
   }
 
-  public synchronized void resetGame() {
-    initializeBoard();
+  /** Index into {@code GameConfig.DIRECTIONS} of the winning line, or -1 while undecided. */
+  public int getWinningDirection() {
+    return winningDirection;
+  }
+
+  public PlayerType getCurrentPlayer() {
+    return currentPlayer;
+  }
+
+  public int getStonesLeftThisTurn() {
+    int perTurn =
+        isFirstTurn ? GameConfig.CFG.FIRST_TURN_STONES : GameConfig.CFG.NORMAL_TURN_STONES;
+    return perTurn - stonesPlacedThisTurn;
+  }
+
+  public int getStoneCount() {
+    return stoneCount;
+  }
+
+  public boolean isBoardFull() {
+    return stoneCount == GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE;
+  }
+
+  public void resetGame() {
+    board = BoardSnapshot.EMPTY;
+    history.clear();
     currentPlayer = PlayerType.BLACK;
     gameOver = false;
     winner = null;
     stonesPlacedThisTurn = 0;
     isFirstTurn = true;
+    stoneCount = 0;
+    winningDirection = -1;
   }
 }
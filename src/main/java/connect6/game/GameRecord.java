@@ -0,0 +1,83 @@
+package connect6.game;
+
+import java.util.Arrays;
+
+/**
+ * Finished game as written by self-play and read back by the offline tools. One record per line:
+ * {@code <black> <white> <BLACK|WHITE|DRAW> x,y x,y ...}, moves in the order the stones were
+ * placed.
+ */
+public record GameRecord(String black, String white, PlayerType winner, int[] moves) {
+  public static final String DRAW = "DRAW";
+
+  public static int cell(int x, int y) {
+    return y * GameConfig.CFG.BOARD_SIZE + x;
+  }
+
+  public static int x(int cell) {
+    return cell % GameConfig.CFG.BOARD_SIZE;
+  }
+
+  public static int y(int cell) {
+    return cell / GameConfig.CFG.BOARD_SIZE;
+  }
+
+  public void appendTo(StringBuilder sb) {
+    sb.append(black).append(' ').append(white).append(' ');
+    sb.append(winner == null ? DRAW : winner.name());
+    for (int m : moves) sb.append(' ').append(x(m)).append(',').append(y(m));
+    sb.append('\n');
+  }
+
+  public static GameRecord parse(CharSequence line) {
+    int len = line.length();
+    int[] pos = {0};
+    String black = nextToken(line, pos);
+    String white = nextToken(line, pos);
+    String result = nextToken(line, pos);
+    if (black == null || white == null || result == null)
+      throw new IllegalArgumentException("Truncated game record: " + line);
+
+    PlayerType winner = result.equals(DRAW) ? null : PlayerType.valueOf(result);
+    int[] moves = new int[16];
+    int count = 0;
+    int i = pos[0];
+    while (i < len) {
+      while (i < len && line.charAt(i) == ' ') i++;
+      if (i >= len) break;
+
+      int x = 0;
+      int y = 0;
+      while (i < len && line.charAt(i) != ',') x = coordinate(x * 10 + digit(line, i++), line);
+      i++;
+      while (i < len && line.charAt(i) != ' ') y = coordinate(y * 10 + digit(line, i++), line);
+
+      if (count == moves.length) moves = Arrays.copyOf(moves, count * 2);
+      moves[count++] = cell(x, y);
+    }
+    return new GameRecord(black, white, winner, Arrays.copyOf(moves, count));
+  }
+
+  private static String nextToken(CharSequence line, int[] pos) {
+    int i = pos[0];
+    int len = line.length();
+    while (i < len && line.charAt(i) == ' ') i++;
+    int start = i;
+    while (i < len && line.charAt(i) != ' ') i++;
+    pos[0] = i;
+    return start == i ? null : line.subSequence(start, i).toString();
+  }
+
+  private static int digit(CharSequence line, int i) {
+    char c = line.charAt(i);
+    if (c < '0' || c > '9')
+      throw new IllegalArgumentException("Bad move coordinate at " + i + ": " + line);
+    return c - '0';
+  }
+
+  private static int coordinate(int value, CharSequence line) {
+    if (value >= GameConfig.CFG.BOARD_SIZE)
+      throw new IllegalArgumentException("Move coordinate off the board: " + line);
+    return value;
+  }
+}
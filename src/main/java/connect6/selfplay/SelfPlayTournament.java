@@ -0,0 +1,184 @@
+package connect6.selfplay;
+
+import connect6.bot.Bot;
+import connect6.bot.Bots;
+import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
+import connect6.game.GameRecord;
+import connect6.game.PlaceResult;
+import connect6.game.PlayerType;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Headless bot-versus-bot runner. Games are split recursively over a work-stealing pool; every leaf
+ * reuses one {@link Connect6Game} and writes its records as a single block, so the only shared
+ * state is the output writer and a few counters.
+ *
+ * <p>Usage: {@code SelfPlayTournament --games=N --a=greedy --b=random --out=games.txt [--threads=T]
+ * [--seed=S]}. Bots swap colours every game.
+ */
+public class SelfPlayTournament {
+  private static final Logger LOG = Logger.getLogger(SelfPlayTournament.class.getName());
+  private static final int LEAF_GAMES = 256;
+
+  private final Bot botA;
+  private final Bot botB;
+  private final long seed;
+  private final Writer out;
+
+  private final LongAdder winsA = new LongAdder();
+  private final LongAdder winsB = new LongAdder();
+  private final LongAdder draws = new LongAdder();
+  private final LongAdder plies = new LongAdder();
+
+  public SelfPlayTournament(Bot botA, Bot botB, long seed, Writer out) {
+    this.botA = botA;
+    this.botB = botB;
+    this.seed = seed;
+    this.out = out;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> opts = parseArgs(args);
+    long games = Long.parseLong(opts.getOrDefault("games", "10000"));
+    int threads =
+        Integer.parseInt(
+            opts.getOrDefault(
+                "threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+    long seed = Long.parseLong(opts.getOrDefault("seed", String.valueOf(System.nanoTime())));
+    Path outPath = Path.of(opts.getOrDefault("out", "selfplay.txt"));
+
+    Bot a = Bots.byName(opts.getOrDefault("a", "greedy"));
+    Bot b = Bots.byName(opts.getOrDefault("b", "random"));
+
+    try (BufferedWriter w = Files.newBufferedWriter(outPath, StandardCharsets.UTF_8)) {
+      SelfPlayTournament t = new SelfPlayTournament(a, b, seed, w);
+      long start = System.nanoTime();
+      t.run(games, threads);
+      double secs = (System.nanoTime() - start) / 1e9;
+
+      LOG.info(
+          String.format(
+              "%d games in %.1fs (%.0f games/h, %.1f plies/game): %s %d, %s %d, draws %d",
+              games,
+              secs,
+              games / secs * 3600,
+              (double) t.plies.sum() / games,
+              a.name(),
+              t.winsA.sum(),
+              b.name(),
+              t.winsB.sum(),
+              t.draws.sum()));
+    }
+  }
+
+  public void run(long games, int threads) {
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new Batch(0, games));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public long winsA() {
+    return winsA.sum();
+  }
+
+  public long winsB() {
+    return winsB.sum();
+  }
+
+  public long draws() {
+    return draws.sum();
+  }
+
+  private class Batch extends RecursiveAction {
+    private final long from;
+    private final long to;
+
+    Batch(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > LEAF_GAMES) {
+        long mid = (from + to) >>> 1;
+        invokeAll(new Batch(from, mid), new Batch(mid, to));
+        return;
+      }
+
+      Connect6Game game = new Connect6Game();
+      int[] moves = new int[GameConfig.CFG.BOARD_SIZE * GameConfig.CFG.BOARD_SIZE];
+      StringBuilder sb = new StringBuilder((int) (to - from) * 512);
+
+      for (long i = from; i < to; i++) {
+        boolean aIsBlack = (i & 1) == 0;
+        Bot black = aIsBlack ? botA : botB;
+        Bot white = aIsBlack ? botB : botA;
+        GameRecord record = play(game, black, white, moves, new SplittableRandom(seed + i));
+
+        if (record.winner() == null) draws.increment();
+        else if ((record.winner() == PlayerType.BLACK) == aIsBlack) winsA.increment();
+        else winsB.increment();
+        plies.add(record.moves().length);
+
+        record.appendTo(sb);
+      }
+
+      synchronized (out) {
+        try {
+          out.append(sb);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
+
+  static GameRecord play(
+      Connect6Game game, Bot black, Bot white, int[] moves, SplittableRandom random) {
+    game.resetGame();
+    int count = 0;
+    while (!game.isGameOver() && !game.isBoardFull()) {
+      Bot bot = game.getCurrentPlayer() == PlayerType.BLACK ? black : white;
+      int cell = bot.nextMove(game, random);
+      PlaceResult result = game.placeStone(GameRecord.x(cell), GameRecord.y(cell));
+      if (result != PlaceResult.OK)
+        throw new IllegalStateException(bot.name() + " played illegal move: " + result);
+
+      moves[count++] = cell;
+      if (game.shouldSwitchPlayer()) game.switchPlayer();
+    }
+
+    PlayerType winner = game.isGameOver() ? PlayerType.valueOf(game.getWinner()) : null;
+    return new GameRecord(black.name(), white.name(), winner, Arrays.copyOf(moves, count));
+  }
+
+  private static Map<String, String> parseArgs(String[] args) {
+    Map<String, String> opts = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("="))
+        throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+      int eq = arg.indexOf('=');
+      opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    return opts;
+  }
+}
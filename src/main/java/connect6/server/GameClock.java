@@ -0,0 +1,65 @@
+package connect6.server;
+
+import connect6.game.PlayerType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class GameClock {
+  private final TimingWheel wheel;
+  private final long incrementMillis;
+  private final Consumer<PlayerType> onFlag;
+  private final Map<PlayerType, Long> remainingMillis = new EnumMap<>(PlayerType.class);
+
+  private PlayerType running;
+  private long turnStartNanos;
+  private TimingWheel.Timeout flag;
+
+  public GameClock(
+      TimingWheel wheel, long initialMillis, long incrementMillis, Consumer<PlayerType> onFlag) {
+    this.wheel = wheel;
+    this.incrementMillis = incrementMillis;
+    this.onFlag = onFlag;
+    for (PlayerType p : PlayerType.values()) remainingMillis.put(p, initialMillis);
+  }
+
+  public synchronized void start(PlayerType player) {
+    stopRunning();
+    running = player;
+    turnStartNanos = System.nanoTime();
+    long left = remainingMillis.get(player);
+    flag = wheel.schedule(() -> onFlag.accept(player), left, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void switchTo(PlayerType player) {
+    PlayerType previous = running;
+    stopRunning();
+    if (previous != null)
+      remainingMillis.put(previous, remainingMillis.get(previous) + incrementMillis);
+    start(player);
+  }
+
+  public synchronized void stop() {
+    stopRunning();
+  }
+
+  public synchronized long remainingMillis(PlayerType player) {
+    long left = remainingMillis.get(player);
+    if (player == running)
+      left -= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - turnStartNanos);
+    return Math.max(0, left);
+  }
+
+  public synchronized boolean hasFlagged(PlayerType player) {
+    return player == running && remainingMillis(player) <= 0;
+  }
+
+  private void stopRunning() {
+    if (running == null) return;
+    remainingMillis.put(running, remainingMillis(running));
+    if (flag != null) flag.cancel();
+    flag = null;
+    running = null;
+  }
+}
@@ -1,14 +1,23 @@
 package connect6.server;
 
+import connect6.bot.HintEngine;
+import connect6.game.BoardSnapshot;
 import connect6.game.Connect6Game;
+import connect6.game.GameConfig;
 import connect6.game.PlaceResult;
 import connect6.game.PlayerType;
 import connect6.grpc.*;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -17,11 +26,20 @@ public class GameServer {
   private static final Logger LOG = Logger.getLogger(GameServer.class.getName());
 
   private Connect6Game game;
-  private final Map<String, StreamObserver<GameEvent>> clients = new LinkedHashMap<>();
+  private final Map<String, Session> clients = new LinkedHashMap<>();
+  private final SessionTable sessions = new SessionTable();
   private boolean gameStarted = false;
-  private String currentPlayer;
-  private final Map<String, Boolean> rematchRequests = new LinkedHashMap<>();
-  private String[] playerOrder;
+  private Session currentPlayer;
+  private final Set<Session> rematchRequests = new HashSet<>();
+  private Session[] playerOrder = new Session[0];
+  private GameClock clock;
+  private final TimingWheel wheel =
+      new TimingWheel(ServerConfig.INSTANCE.WHEEL_TICK_MILLIS, ServerConfig.INSTANCE.WHEEL_SIZE);
+  private final RatingService ratings =
+      new RatingService(Path.of(ServerConfig.INSTANCE.RATINGS_FILE));
+  private final HintService hints = new HintService();
+  private final RateLimitInterceptor rateLimiter = new RateLimitInterceptor(wheel, this::kick);
+  private final PeerInterceptor peers = new PeerInterceptor();
   private Server server;
 
   public static void main(String[] args) throws IOException, InterruptedException {
@@ -31,8 +49,15 @@ public class GameServer {
   }
 
   private void start() throws IOException {
+    ratings.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(ratings::shutdownAndSave, "ratings-save"));
+
     int port = ServerConfig.INSTANCE.RMI_PORT;
-    server = ServerBuilder.forPort(port).addService(new GameService()).build().start();
+    server =
+        ServerBuilder.forPort(port)
+            .addService(ServerInterceptors.intercept(new GameService(), peers, rateLimiter))
+            .build()
+            .start();
     LOG.info("gRPC server started on port " + port);
   }
 
@@ -45,14 +70,32 @@ public class GameServer {
     @Override
     public void register(PlayerInfo request, StreamObserver<GameEvent> responseObserver) {
       String player = request.getName();
-      synchronized (clients) {
+      if (!Session.isValidName(player)) {
+        responseObserver.onError(
+            Status.INVALID_ARGUMENT
+                .withDescription(
+                    "Name must be 1-"
+                        + ServerConfig.INSTANCE.NAME_MAX_LENGTH
+                        + " characters without control characters")
+                .asRuntimeException());
+        return;
+      }
+      synchronized (GameServer.this) {
         if (clients.containsKey(player)) {
-          sendStatus(responseObserver, "Name already in use");
+          responseObserver.onError(
+              Status.ALREADY_EXISTS.withDescription("Name already in use").asRuntimeException());
           return;
         }
 
-        clients.put(player, responseObserver);
+        Session session = sessions.open(player, PeerInterceptor.ADDRESS.get(), responseObserver);
+        clients.put(player, session);
+        rateLimiter.open(session.token);
+        touch(session);
+        if (responseObserver instanceof ServerCallStreamObserver<GameEvent> call)
+          call.setOnCancelHandler(() -> onStreamCancelled(session));
+
         LOG.info("Player connected: " + player);
+        responseObserver.onNext(GameEvent.newBuilder().setSession(session.token).build());
         sendStatus(responseObserver, "Connected as: " + player);
 
         if (clients.size() < 2) {
@@ -73,11 +116,18 @@ public class GameServer {
     @Override
     public void makeMove(Move request, StreamObserver<MoveResult> responseObserver) {
       synchronized (GameServer.this) {
-        String player = request.getPlayer();
-        if (!gameStarted || !player.equals(currentPlayer)) {
+        Session player = sessions.get(request.getSession());
+        if (!gameStarted || player == null || player != currentPlayer) {
           sendMoveResult(responseObserver, false, "Not your turn or game not started");
           return;
         }
+        touch(player);
+
+        if (clock.hasFlagged(colorOf(player))) {
+          loseOnTime(colorOf(player));
+          sendMoveResult(responseObserver, false, "Out of time");
+          return;
+        }
 
         PlaceResult result = game.placeStone(request.getX(), request.getY());
         if (result != PlaceResult.OK) {
@@ -85,11 +135,12 @@ public class GameServer {
           return;
         }
 
-        broadcastBoard();
+        GameUpdate.Builder update = GameUpdate.newBuilder().setBoard(boardProto(game.snapshot()));
 
         if (game.isGameOver()) {
-          String winner = game.getWinner();
-          broadcastWinner(winner);
+          clock.stop();
+          broadcastUpdate(withClock(update).setWinner(game.getWinner()).build());
+          recordResult(player, opponentOf(player));
           endGame();
           sendMoveResult(responseObserver, true, "Move accepted; game over");
           return;
@@ -98,31 +149,27 @@ public class GameServer {
         if (game.shouldSwitchPlayer()) {
           switchCurrentPlayer();
           game.switchPlayer();
+          clock.switchTo(colorOf(currentPlayer));
         }
 
-        notifyClients(c -> c.onNext(GameEvent.newBuilder().setCurrentTurn(currentPlayer).build()));
+        broadcastUpdate(withClock(update).setCurrentTurn(currentPlayer.name).build());
         sendMoveResult(responseObserver, true, "Move accepted");
       }
     }
 
     @Override
     public void disconnect(DisconnectRequest request, StreamObserver<MoveResult> responseObserver) {
-      String player = request.getPlayer();
-      synchronized (clients) {
-        if (!clients.containsKey(player)) {
+      synchronized (GameServer.this) {
+        Session player = sessions.get(request.getSession());
+        if (player == null) {
           sendMoveResult(responseObserver, false, "Not connected");
           return;
         }
 
-        StreamObserver<GameEvent> so = clients.remove(player);
-        rematchRequests.remove(player);
-        safeSend(so, "Server: disconnecting");
-
-        LOG.info("Player disconnected: " + player);
-
-        if (gameStarted) handleDisconnectDuringGame();
-        if (!gameStarted && clients.size() >= 2) startGame();
+        removeClient(player);
+        closeStream(player, "Server: disconnecting");
 
+        LOG.info("Player disconnected: " + player.name);
         sendMoveResult(responseObserver, true, "Disconnected");
       }
     }
@@ -130,16 +177,17 @@ public class GameServer {
     @Override
     public void requestRematch(
         RematchRequest request, StreamObserver<MoveResult> responseObserver) {
-      String player = request.getPlayer();
-      synchronized (clients) {
-        if (!clients.containsKey(player)) {
+      synchronized (GameServer.this) {
+        Session player = sessions.get(request.getSession());
+        if (player == null) {
           sendMoveResult(responseObserver, false, "You are not connected");
           return;
         }
 
-        rematchRequests.put(player, true);
+        touch(player);
+        rematchRequests.add(player);
 
-        if (rematchRequests.size() >= 2 && rematchRequests.values().stream().allMatch(b -> b)) {
+        if (rematchRequests.size() >= 2) {
           LOG.info("Starting rematch...");
           startGame();
         }
@@ -147,71 +195,265 @@ public class GameServer {
       }
     }
 
-    private void handleDisconnectDuringGame() {
-      if (clients.size() == 1) {
-        String remaining = clients.keySet().iterator().next();
-        StreamObserver<GameEvent> remainingObs = clients.get(remaining);
-        safeSend(remainingObs, ServerConfig.INSTANCE.MSG_PLAYER_DISCONNECTED);
-        safeSendWinner(remainingObs, "OPPONENT_DISCONNECTED");
-        endGame();
-      } else if (clients.size() < 2) {
-        endGame();
+    @Override
+    public void getLeaderboard(
+        LeaderboardRequest request, StreamObserver<LeaderboardReply> responseObserver) {
+      int limit =
+          Math.max(0, Math.min(request.getLimit(), ServerConfig.INSTANCE.LEADERBOARD_MAX_LIMIT));
+      Leaderboard.Page page = ratings.top(limit);
+      LeaderboardReply.Builder reply = LeaderboardReply.newBuilder().setTotal(page.total());
+      int rank = 1;
+      for (Leaderboard.Entry e : page.entries()) reply.addEntries(ratingProto(e, rank++));
+      responseObserver.onNext(reply.build());
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getRating(PlayerInfo request, StreamObserver<PlayerRating> responseObserver) {
+      Leaderboard.Ranked r = ratings.find(request.getName());
+      if (r == null) {
+        responseObserver.onError(
+            Status.NOT_FOUND
+                .withDescription("No rated games for " + request.getName())
+                .asRuntimeException());
+        return;
       }
+      responseObserver.onNext(ratingProto(r.entry(), r.rank()));
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void hint(HintRequest request, StreamObserver<HintReply> responseObserver) {
+      BoardSnapshot board;
+      PlayerType side;
+      int stonesLeft;
+      synchronized (GameServer.this) {
+        Session player = sessions.get(request.getSession());
+        if (!gameStarted || player == null || player != currentPlayer) {
+          responseObserver.onError(
+              Status.FAILED_PRECONDITION
+                  .withDescription("Not your turn or game not started")
+                  .asRuntimeException());
+          return;
+        }
+        board = game.snapshot();
+        side = game.getCurrentPlayer();
+        stonesLeft = game.getStonesLeftThisTurn();
+      }
+
+      int limit = request.getLimit() > 0 ? request.getLimit() : ServerConfig.INSTANCE.HINT_MAX;
+      hints
+          .hints(board, side, stonesLeft)
+          .whenComplete(
+              (candidates, err) -> {
+                if (err != null) {
+                  Status status =
+                      err instanceof RejectedExecutionException
+                          ? Status.RESOURCE_EXHAUSTED.withDescription("Hint workers busy")
+                          : Status.INTERNAL.withDescription("Hint failed");
+                  responseObserver.onError(status.withCause(err).asRuntimeException());
+                  return;
+                }
+                HintReply.Builder reply = HintReply.newBuilder();
+                for (HintEngine.Candidate c :
+                    candidates.subList(0, Math.min(limit, candidates.size())))
+                  reply.addCandidates(
+                      HintCandidate.newBuilder()
+                          .setX(c.x())
+                          .setY(c.y())
+                          .setScore(c.score())
+                          .setKind(HintKind.valueOf(c.kind().name())));
+                responseObserver.onNext(reply.build());
+                responseObserver.onCompleted();
+              });
+    }
+  }
+
+  private PlayerRating ratingProto(Leaderboard.Entry e, int rank) {
+    return PlayerRating.newBuilder()
+        .setName(e.name())
+        .setRating(e.rating())
+        .setGames(e.games())
+        .setRank(rank)
+        .build();
+  }
+
+  private void recordResult(Session winner, Session loser) {
+    if (winner == null || loser == null) return;
+    if (game.getStoneCount() < ServerConfig.INSTANCE.RATING_MIN_STONES) return;
+    if (Objects.equals(winner.peer, loser.peer)) return;
+    ratings.recordWin(winner.name, loser.name);
+  }
+
+  private Session opponentOf(Session player) {
+    if (playerOrder.length < 2) return null;
+    return player == playerOrder[0] ? playerOrder[1] : playerOrder[0];
+  }
+
+  private void removeClient(Session player) {
+    clients.remove(player.name);
+    sessions.close(player);
+    rateLimiter.forget(player.token);
+    rematchRequests.remove(player);
+    if (player.idle != null) player.idle.cancel();
+
+    if (gameStarted) handleDisconnectDuringGame(player);
+    if (!gameStarted && clients.size() >= 2) startGame();
+  }
+
+  private synchronized void onStreamCancelled(Session player) {
+    if (sessions.get(player.token) != player) return;
+    removeClient(player);
+    LOG.info("Player stream cancelled: " + player.name);
+  }
+
+  private synchronized void kick(long token) {
+    Session player = sessions.get(token);
+    if (player == null) return;
+
+    removeClient(player);
+    closeStream(player, ServerConfig.INSTANCE.MSG_FLOOD_DISCONNECT);
+    LOG.info("Player kicked for flooding: " + player.name);
+  }
+
+  private void closeStream(Session player, String msg) {
+    safeSend(player.events, msg);
+    try {
+      player.events.onCompleted();
+    } catch (Exception ignored) {
     }
   }
 
+  private void handleDisconnectDuringGame(Session left) {
+    if (!Arrays.asList(playerOrder).contains(left)) return;
+
+    Session remaining = opponentOf(left);
+    sendUpdate(
+        remaining.events,
+        GameUpdate.newBuilder()
+            .addStatus(ServerConfig.INSTANCE.MSG_PLAYER_DISCONNECTED)
+            .setWinner("OPPONENT_DISCONNECTED")
+            .build());
+    recordResult(remaining, left);
+    endGame();
+  }
+
+  private void touch(Session player) {
+    if (player.idle != null) player.idle.cancel();
+    player.idle =
+        wheel.schedule(
+            () -> onIdle(player), ServerConfig.INSTANCE.IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void onIdle(Session player) {
+    if (sessions.get(player.token) != player || !player.idle.isExpired()) return;
+
+    if (gameStarted && Arrays.asList(playerOrder).contains(player)) {
+      touch(player);
+      return;
+    }
+
+    removeClient(player);
+    closeStream(player, ServerConfig.INSTANCE.MSG_IDLE_DISCONNECT);
+    LOG.info("Player reaped after inactivity: " + player.name);
+  }
+
+  private synchronized void onFlag(Connect6Game flaggedGame, PlayerType flagged) {
+    if (game != flaggedGame || !clock.hasFlagged(flagged)) return;
+    loseOnTime(flagged);
+  }
+
+  private void loseOnTime(PlayerType flagged) {
+    PlayerType opponent = flagged == PlayerType.BLACK ? PlayerType.WHITE : PlayerType.BLACK;
+    clock.stop();
+    broadcastUpdate(
+        withClock(GameUpdate.newBuilder())
+            .addStatus(flagged + " ran out of time")
+            .setWinner(opponent.name())
+            .build());
+    Session loser = playerOrder[flagged.ordinal()];
+    recordResult(opponentOf(loser), loser);
+    LOG.info(flagged + " lost on time");
+    endGame();
+  }
+
+  private PlayerType colorOf(Session player) {
+    return player == playerOrder[0] ? PlayerType.BLACK : PlayerType.WHITE;
+  }
+
   private void startGame() {
     if (clients.size() < 2) return;
 
-    game = new Connect6Game();
+    Connect6Game newGame = new Connect6Game();
+    game = newGame;
     gameStarted = true;
     rematchRequests.clear();
 
-    playerOrder = clients.keySet().toArray(new String[0]);
+    playerOrder = clients.values().stream().limit(2).toArray(Session[]::new);
     currentPlayer = playerOrder[0];
 
-    clients
-        .get(playerOrder[0])
-        .onNext(GameEvent.newBuilder().setRole(PlayerType.BLACK.name()).build());
-    clients
-        .get(playerOrder[1])
-        .onNext(GameEvent.newBuilder().setRole(PlayerType.WHITE.name()).build());
-
-    notifyClients(c -> sendStatus(c, "Game started!"));
-    sendCurrentTurn(currentPlayer);
-    broadcastBoard();
-
-    LOG.info("New game started between " + playerOrder[0] + " and " + playerOrder[1]);
+    if (clock != null) clock.stop();
+    clock =
+        new GameClock(
+            wheel,
+            ServerConfig.INSTANCE.CLOCK_INITIAL_MILLIS,
+            ServerConfig.INSTANCE.CLOCK_INCREMENT_MILLIS,
+            flagged -> onFlag(newGame, flagged));
+    clock.start(PlayerType.BLACK);
+
+    GameUpdate start =
+        withClock(GameUpdate.newBuilder())
+            .addStatus("Game started!")
+            .setBoard(boardProto(game.snapshot()))
+            .setCurrentTurn(currentPlayer.name)
+            .build();
+    sendUpdate(playerOrder[0].events, start.toBuilder().setRole(PlayerType.BLACK.name()).build());
+    sendUpdate(playerOrder[1].events, start.toBuilder().setRole(PlayerType.WHITE.name()).build());
+
+    LOG.info("New game started between " + playerOrder[0].name + " and " + playerOrder[1].name);
   }
 
   private void endGame() {
+    if (clock != null) clock.stop();
+    clock = null;
     gameStarted = false;
     currentPlayer = null;
     game = null;
     rematchRequests.clear();
-    playerOrder = new String[0];
+    playerOrder = new Session[0];
+  }
+
+  private GameUpdate.Builder withClock(GameUpdate.Builder update) {
+    return update
+        .setBlackMillis(clock.remainingMillis(PlayerType.BLACK))
+        .setWhiteMillis(clock.remainingMillis(PlayerType.WHITE));
   }
 
   private void switchCurrentPlayer() {
     if (playerOrder.length < 2) return;
-    currentPlayer = currentPlayer.equals(playerOrder[0]) ? playerOrder[1] : playerOrder[0];
+    currentPlayer = currentPlayer == playerOrder[0] ? playerOrder[1] : playerOrder[0];
   }
 
-  private void broadcastBoard() {
-    if (game == null) return;
-    char[][] boardCopy = game.getBoard();
-    notifyClients(
-        c -> c.onNext(GameEvent.newBuilder().setBoard(boardProtoFromChar(boardCopy)).build()));
+  private void broadcastUpdate(GameUpdate update) {
+    GameEvent event = GameEvent.newBuilder().setUpdate(update).build();
+    notifyClients(c -> c.onNext(event));
   }
 
-  private void broadcastWinner(String winner) {
-    notifyClients(c -> safeSendWinner(c, winner));
+  private void sendUpdate(StreamObserver<GameEvent> obs, GameUpdate update) {
+    if (obs != null) {
+      try {
+        obs.onNext(GameEvent.newBuilder().setUpdate(update).build());
+      } catch (Exception e) {
+        LOG.log(Level.WARNING, "Failed to notify client", e);
+      }
+    }
   }
 
   private void notifyClients(Consumer<StreamObserver<GameEvent>> action) {
     List<StreamObserver<GameEvent>> copy;
     synchronized (clients) {
-      copy = new ArrayList<>(clients.values());
+      copy = new ArrayList<>(clients.size());
+      for (Session s : clients.values()) copy.add(s.events);
     }
     for (StreamObserver<GameEvent> c : copy) {
       try {
@@ -222,11 +464,12 @@ public class GameServer {
     }
   }
 
-  private Board boardProtoFromChar(char[][] board) {
+  private Board boardProto(BoardSnapshot board) {
+    int n = GameConfig.CFG.BOARD_SIZE;
     Board.Builder b = Board.newBuilder();
-    for (char[] rowArr : board) {
+    for (int y = 0; y < n; y++) {
       Row.Builder row = Row.newBuilder();
-      for (char cell : rowArr) row.addCells(String.valueOf(cell));
+      for (int x = 0; x < n; x++) row.addCells(String.valueOf(board.getCell(x, y)));
       b.addRows(row);
     }
     return b.build();
@@ -236,11 +479,6 @@ public class GameServer {
     safeSend(obs, msg);
   }
 
-  private void sendCurrentTurn(String player) {
-    StreamObserver<GameEvent> obs = clients.get(player);
-    if (obs != null) obs.onNext(GameEvent.newBuilder().setCurrentTurn(player).build());
-  }
-
   private void safeSend(StreamObserver<GameEvent> obs, String msg) {
     if (obs != null) {
       try {
@@ -250,15 +488,6 @@ public class GameServer {
     }
   }
 
-  private void safeSendWinner(StreamObserver<GameEvent> obs, String winner) {
-    if (obs != null) {
-      try {
-        obs.onNext(GameEvent.newBuilder().setWinner(winner).build());
-      } catch (Exception ignored) {
-      }
-    }
-  }
-
   private void sendMoveResult(StreamObserver<MoveResult> obs, boolean success, String msg) {
     if (obs != null) {
       obs.onNext(MoveResult.newBuilder().setSuccess(success).setMessage(msg).build());
@@ -0,0 +1,112 @@
+package connect6.server;
+
+import connect6.book.OpeningBook;
+import connect6.bot.HintEngine;
+import connect6.game.BoardSnapshot;
+import connect6.game.PlayerType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Computes hints on a bounded pool of its own, away from gRPC handler threads, and keeps the
+ * results per position in an LRU cache. Concurrent requests for the same position share one
+ * in-flight computation; when the queue is full the returned future fails with {@link
+ * java.util.concurrent.RejectedExecutionException}.
+ */
+class HintService {
+  private static final Logger LOG = Logger.getLogger(HintService.class.getName());
+
+  private record Key(BoardSnapshot board, PlayerType side, int stonesLeft) {}
+
+  private final HintEngine engine;
+  private final ThreadPoolExecutor pool;
+  private final Map<Key, CompletableFuture<List<HintEngine.Candidate>>> cache;
+
+  HintService() {
+    ServerConfig cfg = ServerConfig.INSTANCE;
+    engine = new HintEngine(openBook(Path.of(cfg.BOOK_FILE)));
+
+    AtomicInteger threadId = new AtomicInteger();
+    pool =
+        new ThreadPoolExecutor(
+            cfg.HINT_THREADS,
+            cfg.HINT_THREADS,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(cfg.HINT_QUEUE),
+            r -> {
+              Thread t = new Thread(r, "hint-worker-" + threadId.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+
+    int capacity = cfg.HINT_CACHE_SIZE;
+    cache =
+        new LinkedHashMap<>(capacity, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(
+              Map.Entry<Key, CompletableFuture<List<HintEngine.Candidate>>> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  CompletableFuture<List<HintEngine.Candidate>> hints(
+      BoardSnapshot board, PlayerType side, int stonesLeft) {
+    Key key = new Key(board, side, stonesLeft);
+    CompletableFuture<List<HintEngine.Candidate>> f;
+    synchronized (cache) {
+      f = cache.get(key);
+      if (f != null) return f;
+      f = new CompletableFuture<>();
+      cache.put(key, f);
+    }
+
+    CompletableFuture<List<HintEngine.Candidate>> result = f;
+    try {
+      pool.execute(
+          () -> {
+            try {
+              result.complete(
+                  engine.analyze(board, side, stonesLeft, ServerConfig.INSTANCE.HINT_MAX));
+            } catch (RuntimeException e) {
+              forget(key, result);
+              result.completeExceptionally(e);
+            }
+          });
+    } catch (RuntimeException e) {
+      forget(key, result);
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  private void forget(Key key, CompletableFuture<List<HintEngine.Candidate>> f) {
+    synchronized (cache) {
+      cache.remove(key, f);
+    }
+  }
+
+  private static OpeningBook openBook(Path file) {
+    if (!Files.exists(file)) return null;
+    try {
+      OpeningBook book = OpeningBook.open(file);
+      LOG.info("Loaded opening book with " + book.size() + " entries from " + file);
+      return book;
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Failed to open opening book " + file, e);
+      return null;
+    }
+  }
+}
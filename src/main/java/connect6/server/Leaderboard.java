@@ -0,0 +1,177 @@
+package connect6.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ratings ordered best first, held in an order-statistic treap: every node knows its subtree size,
+ * so insert, remove and rank-of are O(log n) and top-K is O(log n + K). Readers share a read lock,
+ * so an entry and its rank, or a page and the total, always come from the same version; the single
+ * rating writer takes the write lock for one remove and one insert per update.
+ */
+final class Leaderboard {
+  record Entry(String name, double rating, int games) {}
+
+  record Ranked(Entry entry, int rank) {}
+
+  record Page(List<Entry> entries, int total) {}
+
+  private static final class Node {
+    final Entry entry;
+    final int priority = ThreadLocalRandom.current().nextInt();
+    Node left;
+    Node right;
+    int size = 1;
+
+    Node(Entry entry) {
+      this.entry = entry;
+    }
+  }
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Entry> byName = new HashMap<>();
+  private Node root;
+
+  void put(Entry e) {
+    lock.writeLock().lock();
+    try {
+      Entry old = byName.put(e.name(), e);
+      if (old != null) root = remove(root, old);
+      root = insert(root, new Node(e));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  Entry get(String name) {
+    lock.readLock().lock();
+    try {
+      return byName.get(name);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** The entry for {@code name} with its 1-based position, or null if it has no rating. */
+  Ranked find(String name) {
+    lock.readLock().lock();
+    try {
+      Entry e = byName.get(name);
+      return e == null ? null : new Ranked(e, rankOf(e));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  Page top(int k) {
+    lock.readLock().lock();
+    try {
+      List<Entry> out = new ArrayList<>(Math.min(k, size(root)));
+      collect(root, k, out);
+      return new Page(out, size(root));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size(root);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int rankOf(Entry e) {
+    int before = 0;
+    Node n = root;
+    while (n != null) {
+      int c = compare(e, n.entry);
+      if (c == 0) return before + size(n.left) + 1;
+      if (c < 0) {
+        n = n.left;
+      } else {
+        before += size(n.left) + 1;
+        n = n.right;
+      }
+    }
+    throw new IllegalStateException("Entry missing from tree: " + e.name());
+  }
+
+  private static void collect(Node n, int k, List<Entry> out) {
+    if (n == null || out.size() >= k) return;
+    collect(n.left, k, out);
+    if (out.size() < k) out.add(n.entry);
+    collect(n.right, k, out);
+  }
+
+  private static int compare(Entry a, Entry b) {
+    int c = Double.compare(b.rating(), a.rating());
+    return c != 0 ? c : a.name().compareTo(b.name());
+  }
+
+  private static int size(Node n) {
+    return n == null ? 0 : n.size;
+  }
+
+  private static Node update(Node n) {
+    n.size = size(n.left) + size(n.right) + 1;
+    return n;
+  }
+
+  private static Node insert(Node n, Node x) {
+    if (n == null) return x;
+    if (compare(x.entry, n.entry) < 0) {
+      n.left = insert(n.left, x);
+      if (n.left.priority > n.priority) return rotateRight(n);
+    } else {
+      n.right = insert(n.right, x);
+      if (n.right.priority > n.priority) return rotateLeft(n);
+    }
+    return update(n);
+  }
+
+  private static Node remove(Node n, Entry e) {
+    if (n == null) return null;
+    int c = compare(e, n.entry);
+    if (c < 0) {
+      n.left = remove(n.left, e);
+    } else if (c > 0) {
+      n.right = remove(n.right, e);
+    } else {
+      return merge(n.left, n.right);
+    }
+    return update(n);
+  }
+
+  private static Node merge(Node a, Node b) {
+    if (a == null) return b;
+    if (b == null) return a;
+    if (a.priority > b.priority) {
+      a.right = merge(a.right, b);
+      return update(a);
+    }
+    b.left = merge(a, b.left);
+    return update(b);
+  }
+
+  private static Node rotateRight(Node n) {
+    Node l = n.left;
+    n.left = l.right;
+    l.right = update(n);
+    return update(l);
+  }
+
+  private static Node rotateLeft(Node n) {
+    Node r = n.right;
+    n.right = r.left;
+    r.left = update(n);
+    return update(r);
+  }
+}
@@ -0,0 +1,30 @@
+package connect6.server;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/** Exposes the caller's host address to service methods through {@link #ADDRESS}. */
+class PeerInterceptor implements ServerInterceptor {
+  static final Context.Key<String> ADDRESS = Context.key("peer-address");
+
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    return Contexts.interceptCall(
+        Context.current().withValue(ADDRESS, addressOf(call)), call, headers, next);
+  }
+
+  static String addressOf(ServerCall<?, ?> call) {
+    SocketAddress addr = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+    if (addr instanceof InetSocketAddress inet && inet.getAddress() != null)
+      return inet.getAddress().getHostAddress();
+    return String.valueOf(addr);
+  }
+}
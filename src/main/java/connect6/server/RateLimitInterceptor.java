@@ -0,0 +1,153 @@
+package connect6.server;
+
+import connect6.grpc.Connect6GameGrpc;
+import connect6.grpc.DisconnectRequest;
+import connect6.grpc.HintRequest;
+import connect6.grpc.Move;
+import connect6.grpc.RematchRequest;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Per-caller token buckets checked as each request message arrives, before the service method (and
+ * so before any game lock). Calls carrying a live session token are charged to that session and to
+ * one shared bucket for its peer address, so opening many sessions does not multiply what one
+ * address may send (Disconnect is exempt from the shared bucket, since it only frees resources);
+ * everything else, including unknown tokens, is charged to the peer address alone. A session that
+ * keeps hitting its own limit is handed to {@code onAbuse} to be disconnected.
+ */
+class RateLimitInterceptor implements ServerInterceptor {
+  private static final Logger LOG = Logger.getLogger(RateLimitInterceptor.class.getName());
+
+  private static final int MOVE = 0;
+  private static final int SESSION = 1;
+  private static final int QUERY = 2;
+  private static final int REGISTER = 3;
+  private static final int PEER_SESSIONS = 4;
+  private static final int CLASSES = 5;
+
+  private static final Map<String, Integer> RPC_CLASS =
+      Map.of(
+          Connect6GameGrpc.getMakeMoveMethod().getFullMethodName(), MOVE,
+          Connect6GameGrpc.getRegisterMethod().getFullMethodName(), REGISTER,
+          Connect6GameGrpc.getRequestRematchMethod().getFullMethodName(), SESSION,
+          Connect6GameGrpc.getDisconnectMethod().getFullMethodName(), SESSION,
+          Connect6GameGrpc.getGetLeaderboardMethod().getFullMethodName(), QUERY,
+          Connect6GameGrpc.getGetRatingMethod().getFullMethodName(), QUERY,
+          Connect6GameGrpc.getHintMethod().getFullMethodName(), QUERY);
+
+  private static final class Limiter {
+    final TokenBucket[] buckets = new TokenBucket[CLASSES];
+    final AtomicInteger strikes = new AtomicInteger();
+
+    Limiter() {
+      ServerConfig cfg = ServerConfig.INSTANCE;
+      buckets[MOVE] = new TokenBucket(cfg.RATE_MOVE_PER_SEC, cfg.RATE_MOVE_BURST);
+      buckets[SESSION] = new TokenBucket(cfg.RATE_SESSION_PER_SEC, cfg.RATE_SESSION_BURST);
+      buckets[QUERY] = new TokenBucket(cfg.RATE_QUERY_PER_SEC, cfg.RATE_QUERY_BURST);
+      buckets[REGISTER] = new TokenBucket(cfg.RATE_REGISTER_PER_SEC, cfg.RATE_REGISTER_BURST);
+      buckets[PEER_SESSIONS] = new TokenBucket(cfg.RATE_PEER_PER_SEC, cfg.RATE_PEER_BURST);
+    }
+
+    boolean isIdle(long now) {
+      for (TokenBucket b : buckets) {
+        if (!b.isFull(now)) return false;
+      }
+      return true;
+    }
+  }
+
+  private final Map<Long, Limiter> sessions = new ConcurrentHashMap<>();
+  private final Map<String, Limiter> peers = new ConcurrentHashMap<>();
+  private final TimingWheel wheel;
+  private final LongConsumer onAbuse;
+
+  RateLimitInterceptor(TimingWheel wheel, LongConsumer onAbuse) {
+    this.wheel = wheel;
+    this.onAbuse = onAbuse;
+    scheduleSweep();
+  }
+
+  void open(long token) {
+    sessions.put(token, new Limiter());
+  }
+
+  void forget(long token) {
+    sessions.remove(token);
+  }
+
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+      ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    Integer rpc = RPC_CLASS.get(call.getMethodDescriptor().getFullMethodName());
+    ServerCall.Listener<ReqT> delegate = next.startCall(call, headers);
+    if (rpc == null) return delegate;
+
+    return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+      private boolean rejected;
+
+      @Override
+      public void onMessage(ReqT message) {
+        if (!admit(call, rpc, message)) {
+          rejected = true;
+          call.close(
+              Status.RESOURCE_EXHAUSTED.withDescription("Rate limit exceeded"), new Metadata());
+          return;
+        }
+        super.onMessage(message);
+      }
+
+      @Override
+      public void onHalfClose() {
+        if (!rejected) super.onHalfClose();
+      }
+    };
+  }
+
+  private boolean admit(ServerCall<?, ?> call, int rpc, Object message) {
+    long now = System.nanoTime();
+    long token = sessionOf(message);
+    Limiter limiter = token != 0 ? sessions.get(token) : null;
+    Limiter peer = peers.computeIfAbsent(PeerInterceptor.addressOf(call), k -> new Limiter());
+    if (limiter == null) return peer.buckets[rpc].tryAcquire(now);
+
+    if (limiter.buckets[rpc].tryAcquire(now)) {
+      limiter.strikes.set(0);
+      return message instanceof DisconnectRequest || peer.buckets[PEER_SESSIONS].tryAcquire(now);
+    }
+    if (limiter.strikes.incrementAndGet() == ServerConfig.INSTANCE.RATE_LIMIT_STRIKES) {
+      LOG.warning("Disconnecting flooding session " + Long.toHexString(token));
+      onAbuse.accept(token);
+    }
+    return false;
+  }
+
+  private static long sessionOf(Object message) {
+    if (message instanceof Move m) return m.getSession();
+    if (message instanceof RematchRequest r) return r.getSession();
+    if (message instanceof DisconnectRequest d) return d.getSession();
+    if (message instanceof HintRequest h) return h.getSession();
+    return 0;
+  }
+
+  private void scheduleSweep() {
+    wheel.schedule(
+        () -> {
+          long now = System.nanoTime();
+          peers.values().removeIf(l -> l.isIdle(now));
+          scheduleSweep();
+        },
+        ServerConfig.INSTANCE.RATE_LIMIT_SWEEP_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+}
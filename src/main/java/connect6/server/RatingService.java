@@ -0,0 +1,140 @@
+package connect6.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Elo ratings per player name. Results are applied on one background thread so game handling only
+ * enqueues; lookups read the {@link Leaderboard} under its read lock without blocking it. The same
+ * thread saves changed ratings every {@code RATING_SAVE_MILLIS} by writing a temporary file and
+ * renaming it over the old one, so a crash loses at most one interval and never the whole file.
+ *
+ * <p>Names are self-asserted at registration and the server has no accounts, so a rating is only as
+ * trustworthy as the name: anyone may register under an offline player's name and win or lose games
+ * on that rating. The server only filters out the cheapest farming (games abandoned early and games
+ * between two sessions from the same address).
+ */
+class RatingService {
+  private static final Logger LOG = Logger.getLogger(RatingService.class.getName());
+
+  private final Path file;
+  private final Leaderboard board = new Leaderboard();
+  private final ScheduledExecutorService updater =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread t = new Thread(r, "rating-updater");
+            t.setDaemon(true);
+            return t;
+          });
+  private boolean dirty;
+  private volatile boolean loadFailed;
+
+  RatingService(Path file) {
+    this.file = file;
+  }
+
+  void start() {
+    load();
+    long period = ServerConfig.INSTANCE.RATING_SAVE_MILLIS;
+    updater.scheduleWithFixedDelay(this::saveIfDirty, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  void recordWin(String winner, String loser) {
+    updater.execute(() -> apply(winner, loser));
+  }
+
+  Leaderboard.Ranked find(String name) {
+    return board.find(name);
+  }
+
+  Leaderboard.Page top(int k) {
+    return board.top(k);
+  }
+
+  private void apply(String winner, String loser) {
+    Leaderboard.Entry w = entry(winner);
+    Leaderboard.Entry l = entry(loser);
+
+    double expected = 1 / (1 + Math.pow(10, (l.rating() - w.rating()) / 400));
+    double delta = ServerConfig.INSTANCE.RATING_K * (1 - expected);
+
+    board.put(new Leaderboard.Entry(winner, w.rating() + delta, w.games() + 1));
+    board.put(new Leaderboard.Entry(loser, l.rating() - delta, l.games() + 1));
+    dirty = true;
+  }
+
+  private Leaderboard.Entry entry(String name) {
+    Leaderboard.Entry e = board.get(name);
+    return e != null ? e : new Leaderboard.Entry(name, ServerConfig.INSTANCE.RATING_INITIAL, 0);
+  }
+
+  private void load() {
+    if (!Files.exists(file)) return;
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      loadFailed = true;
+      LOG.log(Level.SEVERE, "Failed to load ratings from " + file + "; saving disabled", e);
+      return;
+    }
+
+    int skipped = 0;
+    for (String line : lines) {
+      Leaderboard.Entry e = parse(line);
+      if (e != null) board.put(e);
+      else skipped++;
+    }
+    LOG.info("Loaded " + board.size() + " ratings from " + file + " (" + skipped + " skipped)");
+  }
+
+  private static Leaderboard.Entry parse(String line) {
+    String[] f = line.split("\t", -1);
+    if (f.length != 3 || !Session.isValidName(f[0])) return null;
+    try {
+      double rating = Double.parseDouble(f[1]);
+      int games = Integer.parseInt(f[2]);
+      return Double.isFinite(rating) && games >= 0
+          ? new Leaderboard.Entry(f[0], rating, games)
+          : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  void shutdownAndSave() {
+    updater.shutdown();
+    try {
+      updater.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    saveIfDirty();
+  }
+
+  private void saveIfDirty() {
+    if (!dirty || loadFailed) return;
+
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        for (Leaderboard.Entry e : board.top(Integer.MAX_VALUE).entries())
+          w.write(e.name() + "\t" + e.rating() + "\t" + e.games() + "\n");
+      }
+      Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Failed to save ratings to " + file, e);
+    }
+  }
+}
@@ -6,4 +6,41 @@ public enum ServerConfig {
   public final int RMI_PORT = 50051;
   public final String MSG_WAITING_PLAYER = "Waiting for another player...";
   public final String MSG_PLAYER_DISCONNECTED = "Opponent disconnected";
+  public final String MSG_IDLE_DISCONNECT = "Server: disconnected for inactivity";
+  public final String MSG_FLOOD_DISCONNECT = "Server: disconnected for flooding";
+
+  public final int NAME_MAX_LENGTH = 32;
+
+  public final long WHEEL_TICK_MILLIS = 100;
+  public final int WHEEL_SIZE = 512;
+
+  public final long CLOCK_INITIAL_MILLIS = 10 * 60 * 1000;
+  public final long CLOCK_INCREMENT_MILLIS = 5 * 1000;
+  public final long IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+  public final double RATING_INITIAL = 1500;
+  public final double RATING_K = 32;
+  public final int RATING_MIN_STONES = 10;
+  public final String RATINGS_FILE = "ratings.tsv";
+  public final long RATING_SAVE_MILLIS = 30 * 1000;
+  public final int LEADERBOARD_MAX_LIMIT = 1000;
+
+  public final double RATE_MOVE_PER_SEC = 10;
+  public final int RATE_MOVE_BURST = 10;
+  public final double RATE_SESSION_PER_SEC = 1;
+  public final int RATE_SESSION_BURST = 5;
+  public final double RATE_QUERY_PER_SEC = 5;
+  public final int RATE_QUERY_BURST = 20;
+  public final double RATE_REGISTER_PER_SEC = 100;
+  public final int RATE_REGISTER_BURST = 2000;
+  public final double RATE_PEER_PER_SEC = 200;
+  public final int RATE_PEER_BURST = 400;
+  public final int RATE_LIMIT_STRIKES = 50;
+  public final long RATE_LIMIT_SWEEP_MILLIS = 60 * 1000;
+
+  public final int HINT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  public final int HINT_QUEUE = 256;
+  public final int HINT_CACHE_SIZE = 4096;
+  public final int HINT_MAX = 20;
+  public final String BOOK_FILE = "book.bin";
 }
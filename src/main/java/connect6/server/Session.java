@@ -0,0 +1,30 @@
+package connect6.server;
+
+import connect6.grpc.GameEvent;
+import io.grpc.stub.StreamObserver;
+
+final class Session {
+  final int slot;
+  final long token;
+  final String name;
+  final String peer;
+  final StreamObserver<GameEvent> events;
+  TimingWheel.Timeout idle;
+
+  /** Names end up in logs and the line-based ratings file, so only printable text is allowed. */
+  static boolean isValidName(String name) {
+    if (name.isBlank() || name.length() > ServerConfig.INSTANCE.NAME_MAX_LENGTH) return false;
+    for (int i = 0; i < name.length(); i++) {
+      if (Character.isISOControl(name.charAt(i))) return false;
+    }
+    return true;
+  }
+
+  Session(int slot, long token, String name, String peer, StreamObserver<GameEvent> events) {
+    this.slot = slot;
+    this.token = token;
+    this.name = name;
+    this.peer = peer;
+    this.events = events;
+  }
+}
@@ -0,0 +1,48 @@
+package connect6.server;
+
+import connect6.grpc.GameEvent;
+import io.grpc.stub.StreamObserver;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Registered sessions indexed by slot. A token is the slot in its low 32 bits and a random nonzero
+ * nonce in the high 32, so a lookup is an array read plus one comparison and a token cannot be
+ * guessed from another player's name or slot. Guarded by the server monitor.
+ */
+final class SessionTable {
+  private final SecureRandom random = new SecureRandom();
+  private Session[] slots = new Session[16];
+  private int[] free = new int[16];
+  private int freeCount;
+  private int used;
+
+  Session open(String name, String peer, StreamObserver<GameEvent> events) {
+    int slot;
+    if (freeCount > 0) {
+      slot = free[--freeCount];
+    } else {
+      if (used == slots.length) slots = Arrays.copyOf(slots, used * 2);
+      slot = used++;
+    }
+
+    long nonce = random.nextInt() | 1;
+    Session s = new Session(slot, (nonce << 32) | slot, name, peer, events);
+    slots[slot] = s;
+    return s;
+  }
+
+  Session get(long token) {
+    int slot = (int) token;
+    if (slot < 0 || slot >= used) return null;
+    Session s = slots[slot];
+    return s != null && s.token == token ? s : null;
+  }
+
+  void close(Session s) {
+    if (slots[s.slot] != s) return;
+    slots[s.slot] = null;
+    if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+    free[freeCount++] = s.slot;
+  }
+}
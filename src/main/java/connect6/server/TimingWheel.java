@@ -0,0 +1,180 @@
+package connect6.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel shared by every clock and idle timer on the server. A single daemon thread
+ * advances the wheel once per tick; scheduling and cancelling only touch lock-free queues, so
+ * thousands of pending timeouts cost one list node each and no thread or future per game.
+ */
+public class TimingWheel {
+  private static final Logger LOG = Logger.getLogger(TimingWheel.class.getName());
+
+  private static final int PENDING = 0;
+  private static final int CANCELLED = 1;
+  private static final int EXPIRED = 2;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final Thread worker;
+  private final long startNanos = System.nanoTime();
+  private volatile boolean running = true;
+  private long tick;
+
+  public TimingWheel(long tickMillis, int wheelSize) {
+    if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+    if (wheelSize <= 0) throw new IllegalArgumentException("wheelSize must be positive");
+
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) size <<= 1;
+
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.wheel = new Bucket[size];
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) wheel[i] = new Bucket();
+
+    worker = new Thread(this::run, "timing-wheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+    Timeout t = new Timeout(this, task, deadline);
+    added.add(t);
+    return t;
+  }
+
+  public void stop() {
+    running = false;
+    worker.interrupt();
+  }
+
+  private void run() {
+    while (running) {
+      long deadline = tickNanos * (tick + 1);
+      long sleepNanos = deadline - (System.nanoTime() - startNanos);
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          if (!running) return;
+        }
+        continue;
+      }
+
+      removeCancelled();
+      transferAdded();
+      wheel[(int) (tick & mask)].expire();
+      tick++;
+    }
+  }
+
+  private void transferAdded() {
+    Timeout t;
+    while ((t = added.poll()) != null) {
+      if (t.state.get() == CANCELLED) continue;
+
+      long ticks = Math.max(t.deadline / tickNanos, tick);
+      t.remainingRounds = (ticks - tick) / wheel.length;
+      wheel[(int) (ticks & mask)].add(t);
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout t;
+    while ((t = cancelled.poll()) != null) {
+      if (t.bucket != null) t.bucket.remove(t);
+    }
+  }
+
+  public static final class Timeout {
+    private final TimingWheel owner;
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(TimingWheel owner, Runnable task, long deadline) {
+      this.owner = owner;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    public boolean cancel() {
+      if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+      owner.cancelled.add(this);
+      return true;
+    }
+
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private void expire() {
+      if (!state.compareAndSet(PENDING, EXPIRED)) return;
+      try {
+        task.run();
+      } catch (Throwable e) {
+        LOG.log(Level.WARNING, "Timeout task failed", e);
+      }
+    }
+  }
+
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+
+    void add(Timeout t) {
+      t.bucket = this;
+      if (head == null) {
+        head = tail = t;
+      } else {
+        tail.next = t;
+        t.prev = tail;
+        tail = t;
+      }
+    }
+
+    void expire() {
+      Timeout t = head;
+      while (t != null) {
+        Timeout next = t.next;
+        if (t.remainingRounds <= 0) {
+          remove(t);
+          t.expire();
+        } else if (t.isCancelled()) {
+          remove(t);
+        } else {
+          t.remainingRounds--;
+        }
+        t = next;
+      }
+    }
+
+    void remove(Timeout t) {
+      if (t.bucket != this) return;
+      if (t.prev != null) t.prev.next = t.next;
+      else head = t.next;
+      if (t.next != null) t.next.prev = t.prev;
+      else tail = t.prev;
+      t.prev = t.next = null;
+      t.bucket = null;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package connect6.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time", so
+ * admitting a call is a single CAS and an idle bucket needs no refill work.
+ */
+final class TokenBucket {
+  private final long intervalNanos;
+  private final long capacityNanos;
+  private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+  TokenBucket(double perSecond, int burst) {
+    this.intervalNanos = Math.max(1, (long) (1e9 / perSecond));
+    this.capacityNanos = intervalNanos * Math.max(1, burst);
+  }
+
+  boolean tryAcquire(long nowNanos) {
+    while (true) {
+      long current = tat.get();
+      long next =
+          (current == Long.MIN_VALUE ? nowNanos : Math.max(current, nowNanos)) + intervalNanos;
+      if (next - nowNanos > capacityNanos) return false;
+      if (tat.compareAndSet(current, next)) return true;
+    }
+  }
+
+  boolean isFull(long nowNanos) {
+    long current = tat.get();
+    return current == Long.MIN_VALUE || current - nowNanos <= 0;
+  }
+}